@@ -0,0 +1,102 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.benchmark;
+
+import com.github.edgar615.validation.ValidationResult;
+import com.github.edgar615.validation.rule.RuleSet;
+import com.github.edgar615.validation.rule.Validations;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * rule.Validations批量校验的基准测试，比较单线程循环校验和validateAll在不同并行度下的耗时.
+ *
+ * @author Edgar
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BatchValidationBenchmark {
+
+  @Param({"10000", "100000"})
+  public int rows;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  private RuleSet ruleSet;
+
+  private List<Map<String, Object>> data;
+
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:16|alphaNumber")
+        .add("age", "int|min:0|max:150")
+        .add("email", "email")
+        .add("birthday", "iso8601Date")
+        .build();
+    data = new ArrayList<>(rows);
+    for (int i = 0; i < rows; i++) {
+      Map<String, Object> row = new HashMap<>();
+      row.put("username", "edgar" + i);
+      row.put("age", i % 10 == 0 ? "abc" : String.valueOf(i % 100));
+      row.put("email", "edgar" + i + "@example.com");
+      row.put("birthday", "2018-03-13");
+      data.add(row);
+    }
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.shutdown();
+  }
+
+  @Benchmark
+  public Object loop() {
+    List<ValidationResult> results = new ArrayList<>(data.size());
+    for (Map<String, Object> row : data) {
+      results.add(Validations.validateToResult(row, ruleSet));
+    }
+    return results;
+  }
+
+  @Benchmark
+  public Object validateAll() {
+    return Validations.validateAll(data, ruleSet, pool, Validations.DEFAULT_BATCH_THRESHOLD);
+  }
+}
@@ -0,0 +1,190 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.benchmark;
+
+import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.jsr303.ValidatorOptions;
+import com.github.edgar615.validation.rule.Rule;
+import com.github.edgar615.validation.rule.Validations;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 同一个JAVA BEAN分别使用rule.Validations和jsr303.Validations校验的基准测试.
+ * <p>
+ * JAVA BEAN在Setup时按属性数量生成并编译，需要使用JDK运行. 和ValidationsBenchmark一样，
+ * 每个属性按顺序使用下面几种约束中的一种，rule使用和约束等价的规则，invalid表示偶数位置的属性都是非法值.
+ *
+ * @author Edgar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BeanValidationBenchmark {
+
+  private static final String[] CONSTRAINTS = {
+      "@javax.validation.constraints.NotNull @javax.validation.constraints.Size(max = 16)",
+      "@com.github.edgar615.validation.jsr303.FixLengthValidator(length = 8)",
+      "@com.github.edgar615.validation.jsr303.AlphaNumberValidator",
+      "@com.github.edgar615.validation.jsr303.AlphaValidator",
+      "@com.github.edgar615.validation.jsr303.DateValidator"};
+
+  private static final String[] VALID = {"edgar", "edgar615", "edgar615", "b", "2018-03-13"};
+
+  private static final String[] INVALID = {null, "edgar", "edgar_615", "d1", "2018/03/13"};
+
+  @Param({"5", "50", "500"})
+  public int fields;
+
+  @Param({"valid", "invalid"})
+  public String payload;
+
+  /**
+   * jsr303是否把JAVA BEAN编译为Rule校验
+   */
+  @Param({"true", "false"})
+  public boolean compileBeans;
+
+  private Multimap<String, Rule> rules;
+
+  private Object bean;
+
+  @Setup
+  public void setUp() throws ReflectiveOperationException {
+    com.github.edgar615.validation.jsr303.Validations.configure(
+        ValidatorOptions.builder().compileBeans(compileBeans).build());
+    rules = ArrayListMultimap.create();
+    for (int i = 0; i < fields; i++) {
+      addRules(rules, "field" + i, i % CONSTRAINTS.length);
+    }
+
+    Class<?> beanClass = compileBean("Payload" + fields, fields);
+    bean = beanClass.getConstructor().newInstance();
+    boolean invalid = "invalid".equals(payload);
+    for (int i = 0; i < fields; i++) {
+      int kind = i % CONSTRAINTS.length;
+      Field field = beanClass.getDeclaredField("field" + i);
+      field.setAccessible(true);
+      field.set(bean, invalid && i % 2 == 0 ? INVALID[kind] : VALID[kind]);
+    }
+  }
+
+  @Benchmark
+  public Object ruleEngine() {
+    try {
+      Validations.validate(bean, rules);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object jsr303() {
+    try {
+      com.github.edgar615.validation.jsr303.Validations.validateBean(bean);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object jsr303ToResult() {
+    return com.github.edgar615.validation.jsr303.Validations.validateBeanToResult(bean);
+  }
+
+  private static void addRules(Multimap<String, Rule> rules, String field, int kind) {
+    switch (kind) {
+      case 0:
+        rules.put(field, Rule.required());
+        rules.put(field, Rule.maxLength(16));
+        break;
+      case 1:
+        rules.put(field, Rule.fixLength(8));
+        break;
+      case 2:
+        rules.put(field, Rule.alphaNumber());
+        break;
+      case 3:
+        rules.put(field, Rule.alpha());
+        break;
+      default:
+        rules.put(field, Rule.iso8601Date());
+        break;
+    }
+  }
+
+  /**
+   * 生成并编译有fields个属性的JAVA BEAN，每个属性都有getter.
+   */
+  private static Class<?> compileBean(String className, int fields)
+      throws ClassNotFoundException {
+    StringBuilder source = new StringBuilder("public class ").append(className).append(" {\n");
+    for (int i = 0; i < fields; i++) {
+      source.append(CONSTRAINTS[i % CONSTRAINTS.length])
+          .append(" private String field").append(i).append(";\n")
+          .append("public String getField").append(i).append("() { return field").append(i)
+          .append("; }\n");
+    }
+    source.append("}\n");
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    if (compiler == null) {
+      throw new IllegalStateException("BeanValidationBenchmark must run on a JDK");
+    }
+    try {
+      Path dir = Files.createTempDirectory("bean-benchmark");
+      Path file = dir.resolve(className + ".java");
+      Files.write(file, source.toString().getBytes(StandardCharsets.UTF_8));
+      int status = compiler.run(null, null, null, "-encoding", "UTF-8",
+          "-classpath", System.getProperty("java.class.path"),
+          "-d", dir.toString(), file.toString());
+      if (status != 0) {
+        throw new IllegalStateException("failed to compile " + className);
+      }
+      URLClassLoader classLoader = new URLClassLoader(new URL[] {dir.toUri().toURL()},
+          BeanValidationBenchmark.class.getClassLoader());
+      return Class.forName(className, true, classLoader);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
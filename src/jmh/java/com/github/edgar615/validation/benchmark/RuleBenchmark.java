@@ -0,0 +1,164 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.benchmark;
+
+import com.github.edgar615.validation.rule.Rule;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 每个内置Rule的isValid的基准测试.
+ * <p>
+ * 运行<code>mvn -B -Pbenchmark verify -DskipTests</code>，分配速率由<code>-prof gc</code>统计.
+ *
+ * @author Edgar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RuleBenchmark {
+
+  private static final String LONG_STRING = Strings.repeat("a", 4096);
+
+  private static final Long BOXED_NUMBER = 123456L;
+
+  private static final Map<String, RuleCase> CASES = new HashMap<>();
+
+  static {
+    add("email", Rule.email(), "yuzhou.zhang@csst.com", "yuzhou.zhang@@csst.com");
+    add("emailIdn", Rule.email(), "yuzhou.zhang@\u4f8b\u5b50.\u5e7f\u544a",
+        "yuzhou.zhang@\u4f8b\u5b50..\u5e7f\u544a");
+    add("emailIdnCached", Rule.email(true), "yuzhou.zhang@\u4f8b\u5b50.\u5e7f\u544a",
+        "yuzhou.zhang@\u4f8b\u5b50..\u5e7f\u544a");
+    add("equals", Rule.equals("foo"), "foo", "bar");
+    add("required", Rule.required(), "foo", "");
+    add("maxLength", Rule.maxLength(16), "edgar", "edgar615edgar615edgar");
+    add("minLength", Rule.minLength(4), "edgar", "foo");
+    add("fixLength", Rule.fixLength(5), "edgar", "edgar615");
+    add("max", Rule.max(100), "99", "101");
+    add("min", Rule.min(10), "99", "9");
+    add("maxLong", Rule.max(Long.MAX_VALUE - 1), Long.MAX_VALUE - 1, Long.MAX_VALUE);
+    add("maxDecimal", Rule.max(new BigDecimal("99.99")), "99.9900", "99.991");
+    add("minLong", Rule.min(Long.MIN_VALUE + 1), Long.MIN_VALUE + 1, Long.MIN_VALUE);
+    add("minDecimal", Rule.min(new BigDecimal("0.01")), "0.0100", "0.009");
+    add("regex", Rule.regex("[0-9A-F]{16}"), "0123456789ABCDEF", "0123456789aBCDEF");
+    add("iso8601Date", Rule.iso8601Date(), "2018-03-13", "2018/03/13");
+    add("iso8601Time", Rule.iso8601Time(), "14:15:00", "24:15:00");
+    add("iso8601Datetime", Rule.iso8601Datetime(), "2018-03-13T14:15:00", "2018-03-13 14:15:00");
+    add("datetime", Rule.datetime(), "2018-03-13 14:15:00", "2018-03-13 24:15:00");
+    add("prohibited", Rule.prohibited(), null, "foo");
+    add("optional", Rule.optional(ImmutableList.of(1, 2, 3)), "2", "4");
+    add("byteRule", Rule.byteRule(), "12", "1111111111");
+    add("shortRule", Rule.shortRule(), "1234", "1111111111");
+    add("intRule", Rule.intRule(), "123456", "11111111111111111111");
+    add("longRule", Rule.longRule(), "1234567890123", "11111111111111111111111");
+    add("floatRule", Rule.floatRule(), "3.14", "3.14abc");
+    add("doubleRule", Rule.doubleRule(), "3.14", "abc");
+    add("bool", Rule.bool(), "true", "yes");
+    add("list", Rule.list(), ImmutableList.of(1, 2), "list");
+    add("map", Rule.map(), ImmutableMap.of("a", 1), "map");
+    add("alpha", Rule.alpha(), "edgar", "edgar615");
+    add("alphaUnderscore", Rule.alphaUnderscore(), "edgar_615", "edgar 615");
+    add("alphaNumber", Rule.alphaNumber(), "edgar615", "edgar_615");
+    add("alphaSpace", Rule.alphaSpace(), "edgar zhang", "edgar_zhang");
+    add("digits", Rule.digits(), "123456", "0123");
+    add("digitsLength", Rule.digits(6), "123456", "12345");
+    add("decimal", Rule.decimal(2), "3.14", "3.145");
+  }
+
+  @Param({"email", "emailIdn", "emailIdnCached", "equals", "required", "maxLength", "minLength",
+      "fixLength", "max", "min", "maxLong", "maxDecimal", "minLong", "minDecimal", "regex",
+      "iso8601Date", "iso8601Time", "iso8601Datetime", "datetime", "prohibited",
+      "optional", "byteRule", "shortRule", "intRule", "longRule", "floatRule", "doubleRule", "bool",
+      "list", "map", "alpha", "alphaUnderscore", "alphaNumber", "alphaSpace", "digits",
+      "digitsLength", "decimal"})
+  public String rule;
+
+  @Param({"valid", "invalid", "null", "boxedNumber", "longString"})
+  public String input;
+
+  private Rule target;
+
+  private Object value;
+
+  @Setup
+  public void setUp() {
+    RuleCase ruleCase = CASES.get(rule);
+    Preconditions.checkArgument(ruleCase != null, "unknown rule %s", rule);
+    this.target = ruleCase.rule;
+    this.value = ruleCase.input(input);
+  }
+
+  @Benchmark
+  public boolean isValid() {
+    return target.isValid(value);
+  }
+
+  private static void add(String name, Rule rule, Object valid, Object invalid) {
+    CASES.put(name, new RuleCase(rule, valid, invalid));
+  }
+
+  private static class RuleCase {
+
+    private final Rule rule;
+
+    private final Object valid;
+
+    private final Object invalid;
+
+    private RuleCase(Rule rule, Object valid, Object invalid) {
+      this.rule = rule;
+      this.valid = valid;
+      this.invalid = invalid;
+    }
+
+    private Object input(String input) {
+      switch (input) {
+        case "valid":
+          return valid;
+        case "invalid":
+          return invalid;
+        case "null":
+          return null;
+        case "boxedNumber":
+          return BOXED_NUMBER;
+        case "longString":
+          return LONG_STRING;
+        default:
+          throw new IllegalArgumentException("unknown input " + input);
+      }
+    }
+  }
+}
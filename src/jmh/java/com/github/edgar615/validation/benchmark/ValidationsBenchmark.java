@@ -0,0 +1,157 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.benchmark;
+
+import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.rule.Rule;
+import com.github.edgar615.validation.rule.RuleSet;
+import com.github.edgar615.validation.rule.Validations;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * rule.Validations对Map和Multimap校验的基准测试.
+ * <p>
+ * 每个属性按顺序使用下面几种规则中的一种，invalid表示偶数位置的属性都是非法值.
+ *
+ * @author Edgar
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationsBenchmark {
+
+  private static final String[] VALID = {"edgar", "42", "edgar615", "b", "2018-03-13"};
+
+  private static final String[] INVALID = {"", "abc", "edgar_615", "d", "2018/03/13"};
+
+  @Param({"5", "50", "500"})
+  public int fields;
+
+  @Param({"valid", "invalid"})
+  public String payload;
+
+  private Multimap<String, Rule> rules;
+
+  private RuleSet ruleSet;
+
+  private Map<String, Object> map;
+
+  private Multimap<String, String> multimap;
+
+  private byte[] json;
+
+  @Setup
+  public void setUp() {
+    rules = ArrayListMultimap.create();
+    map = new HashMap<>();
+    multimap = ArrayListMultimap.create();
+    boolean invalid = "invalid".equals(payload);
+    StringBuilder builder = new StringBuilder("{\"ignored\":{\"a\":[1,2,3],\"b\":\"c\"}");
+    for (int i = 0; i < fields; i++) {
+      String field = "field" + i;
+      int kind = i % VALID.length;
+      addRules(rules, field, kind);
+      String value = invalid && i % 2 == 0 ? INVALID[kind] : VALID[kind];
+      map.put(field, value);
+      multimap.put(field, value);
+      builder.append(",\"").append(field).append("\":\"").append(value).append('"');
+    }
+    json = builder.append('}').toString().getBytes(StandardCharsets.UTF_8);
+    ruleSet = RuleSet.of(rules);
+  }
+
+  @Benchmark
+  public Object validateMap() {
+    try {
+      Validations.validate(map, rules);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object validateMapWithRuleSet() {
+    try {
+      Validations.validate(map, ruleSet);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object validateJson() {
+    try {
+      Validations.validateJson(json, ruleSet);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  @Benchmark
+  public Object validateMultimap() {
+    try {
+      Validations.validate(multimap, rules);
+      return null;
+    } catch (ValidationException e) {
+      return e;
+    }
+  }
+
+  private static void addRules(Multimap<String, Rule> rules, String field, int kind) {
+    switch (kind) {
+      case 0:
+        rules.put(field, Rule.required());
+        rules.put(field, Rule.maxLength(16));
+        break;
+      case 1:
+        rules.put(field, Rule.intRule());
+        rules.put(field, Rule.min(0));
+        rules.put(field, Rule.max(1000));
+        break;
+      case 2:
+        rules.put(field, Rule.alphaNumber());
+        break;
+      case 3:
+        rules.put(field, Rule.optional(ImmutableList.of("a", "b", "c")));
+        break;
+      default:
+        rules.put(field, Rule.iso8601Date());
+        break;
+    }
+  }
+}
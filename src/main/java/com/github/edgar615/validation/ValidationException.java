@@ -5,23 +5,36 @@ import com.google.common.collect.Multimap;
 
 public class ValidationException extends RuntimeException {
 
-  private final Multimap<String, String> errorDetail = ArrayListMultimap.create();
+  private final Multimap<String, String> errorDetail;
 
   public ValidationException() {
+    this.errorDetail = ArrayListMultimap.create();
   }
 
   public ValidationException(String message) {
     super(message);
+    this.errorDetail = ArrayListMultimap.create();
   }
 
   public ValidationException(Multimap<String, String> errorDetail) {
     super();
-    this.errorDetail.putAll(errorDetail);
+    this.errorDetail = ArrayListMultimap.create(errorDetail);
   }
 
   public ValidationException(String message, Multimap<String, String> errorDetail) {
     super(message);
-    this.errorDetail.putAll(errorDetail);
+    this.errorDetail = ArrayListMultimap.create(errorDetail);
+  }
+
+  /**
+   * 直接使用传入的errorDetail，不会复制.
+   *
+   * @param errorDetail 错误信息，必须是可修改的
+   * @param writableStackTrace 是否记录异常栈，为false时创建异常的开销很小，addSuppressed仍然有效
+   */
+  ValidationException(Multimap<String, String> errorDetail, boolean writableStackTrace) {
+    super(null, null, true, writableStackTrace);
+    this.errorDetail = errorDetail;
   }
 
   /**
@@ -0,0 +1,131 @@
+package com.github.edgar615.validation;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 校验结果.
+ * <p>
+ * 校验失败时不抛出异常，而是把错误信息按顺序记录在这个对象中. 这个对象不是线程安全的，
+ * 可以通过{@link #reset()}清空之后在同一个线程中重复使用.
+ * <p>
+ * 属性名可以是任意对象，例如jsr303的Path，第一次读取属性名时才调用toString()，没有读取的属性名不会生成字符串.
+ */
+public class ValidationResult {
+
+  /**
+   * 属性名，读取时才转换为String
+   */
+  private final List<Object> fields = new ArrayList<>();
+
+  private final List<String> messages = new ArrayList<>();
+
+  /**
+   * @return 没有错误，返回true
+   */
+  public boolean isValid() {
+    return fields.isEmpty();
+  }
+
+  /**
+   * @return 错误的数量
+   */
+  public int errorCount() {
+    return fields.size();
+  }
+
+  /**
+   * @param index 错误的序号
+   * @return 属性名
+   */
+  public String field(int index) {
+    Object field = fields.get(index);
+    if (field instanceof String) {
+      return (String) field;
+    }
+    String name = field.toString();
+    fields.set(index, name);
+    return name;
+  }
+
+  /**
+   * @param index 错误的序号
+   * @return 错误信息
+   */
+  public String message(int index) {
+    return messages.get(index);
+  }
+
+  /**
+   * 增加校验错误.
+   *
+   * @param field 属性名，不允许为null
+   * @param message 错误信息，不允许为null
+   * @return 返回对象本身
+   */
+  public ValidationResult addError(String field, String message) {
+    return addError((Object) field, message);
+  }
+
+  /**
+   * 增加校验错误，属性名在第一次读取时才通过toString()生成.
+   *
+   * @param field 属性名，不允许为null
+   * @param message 错误信息，不允许为null
+   * @return 返回对象本身
+   */
+  public ValidationResult addError(Object field, String message) {
+    fields.add(Preconditions.checkNotNull(field));
+    messages.add(Preconditions.checkNotNull(message));
+    return this;
+  }
+
+  /**
+   * 清空所有的错误.
+   *
+   * @return 返回对象本身
+   */
+  public ValidationResult reset() {
+    fields.clear();
+    messages.clear();
+    return this;
+  }
+
+  /**
+   * @return 按属性名分组的错误信息，每次调用都会创建一个新的Multimap
+   */
+  public Multimap<String, String> getErrorDetail() {
+    Multimap<String, String> errorDetail = ArrayListMultimap.create();
+    for (int i = 0; i < fields.size(); i++) {
+      errorDetail.put(field(i), messages.get(i));
+    }
+    return errorDetail;
+  }
+
+  /**
+   * @return 包含所有错误信息的ValidationException
+   */
+  public ValidationException toException() {
+    return new ValidationException(getErrorDetail(), true);
+  }
+
+  /**
+   * 如果有错误，抛出不记录异常栈的ValidationException.
+   */
+  public void throwIfInvalid() {
+    if (!isValid()) {
+      throw new ValidationException(getErrorDetail(), false);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper("ValidationResult")
+        .add("errorDetail", getErrorDetail())
+        .toString();
+  }
+}
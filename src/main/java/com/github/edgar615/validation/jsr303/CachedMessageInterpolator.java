@@ -0,0 +1,330 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.google.common.base.MoreObjects;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.validation.MessageInterpolator;
+import javax.validation.metadata.ConstraintDescriptor;
+import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.messageinterpolation.HibernateMessageInterpolatorContext;
+
+/**
+ * 不使用EL表达式的MessageInterpolator，不依赖javax.el.
+ * <p>
+ * 和Hibernate的ResourceBundleMessageInterpolator一样，先使用ValidationMessages和Hibernate自带的资源文件解析
+ * <code>{key}</code>，再使用约束注解的属性替换<code>{attribute}</code>，支持<code>\{</code>、<code>\}</code>、
+ * <code>\\</code>和<code>\$</code>转义. <code>${...}</code>形式的EL表达式不会被解析，原样保留.
+ * <p>
+ * 每个模板只解析一次，解析后的错误信息按模板、约束和Locale缓存，错误信息和被校验的值无关.
+ * 只有ConstraintValidator通过HibernateConstraintValidatorContext增加了参数时才不使用缓存.
+ *
+ * @author Edgar
+ */
+public class CachedMessageInterpolator implements MessageInterpolator {
+
+  private static final String USER_BUNDLE = "ValidationMessages";
+
+  private static final String DEFAULT_BUNDLE = "org.hibernate.validator.ValidationMessages";
+
+  /**
+   * 递归解析资源文件的最大次数，避免资源文件中的循环引用
+   */
+  private static final int MAX_RESOLUTION = 16;
+
+  private final Locale defaultLocale;
+
+  private final ConcurrentMap<String, Template> templates = new ConcurrentHashMap<>();
+
+  private final ConcurrentMap<MessageKey, String> messages = new ConcurrentHashMap<>();
+
+  public CachedMessageInterpolator() {
+    this(Locale.getDefault());
+  }
+
+  /**
+   * @param defaultLocale interpolate(String, Context)使用的Locale
+   */
+  public CachedMessageInterpolator(Locale defaultLocale) {
+    this.defaultLocale = defaultLocale;
+  }
+
+  @Override
+  public String interpolate(String messageTemplate, Context context) {
+    return interpolate(messageTemplate, context, defaultLocale);
+  }
+
+  @Override
+  public String interpolate(String messageTemplate, Context context, Locale locale) {
+    Map<String, Object> parameters = messageParameters(context);
+    ConstraintDescriptor<?> constraint = context.getConstraintDescriptor();
+    if (!parameters.isEmpty()) {
+      return render(messageTemplate, constraint, parameters, locale);
+    }
+    MessageKey key = new MessageKey(messageTemplate, constraint, locale);
+    String message = messages.get(key);
+    if (message == null) {
+      message = render(messageTemplate, constraint, parameters, locale);
+      messages.putIfAbsent(key, message);
+    }
+    return message;
+  }
+
+  private static Map<String, Object> messageParameters(Context context) {
+    if (context instanceof HibernateMessageInterpolatorContext) {
+      Map<String, Object> parameters =
+          ((HibernateMessageInterpolatorContext) context).getMessageParameters();
+      if (parameters != null) {
+        return parameters;
+      }
+    }
+    return Collections.emptyMap();
+  }
+
+  private String render(String messageTemplate, ConstraintDescriptor<?> constraint,
+      Map<String, Object> parameters, Locale locale) {
+    ResourceBundle userBundle = bundle(USER_BUNDLE, locale, classLoader());
+    ResourceBundle defaultBundle = bundle(DEFAULT_BUNDLE, locale,
+        HibernateValidator.class.getClassLoader());
+    String message = resolve(messageTemplate, userBundle, true);
+    String resolved = resolve(message, defaultBundle, false);
+    if (!resolved.equals(message)) {
+      message = resolve(resolved, userBundle, true);
+    }
+    Map<String, Object> attributes =
+        constraint == null ? Collections.emptyMap() : constraint.getAttributes();
+    return template(message).render(parameters, attributes);
+  }
+
+  /**
+   * 使用资源文件中的值替换参数，保留转义字符.
+   */
+  private String resolve(String message, ResourceBundle bundle, boolean recursive) {
+    if (bundle == null) {
+      return message;
+    }
+    String current = message;
+    for (int i = 0; i < MAX_RESOLUTION; i++) {
+      String resolved = template(current).resolve(bundle);
+      if (resolved.equals(current) || !recursive) {
+        return resolved;
+      }
+      current = resolved;
+    }
+    return current;
+  }
+
+  private Template template(String message) {
+    Template template = templates.get(message);
+    if (template == null) {
+      template = Template.compile(message);
+      templates.putIfAbsent(message, template);
+    }
+    return template;
+  }
+
+  private static ClassLoader classLoader() {
+    return MoreObjects.firstNonNull(Thread.currentThread().getContextClassLoader(),
+        CachedMessageInterpolator.class.getClassLoader());
+  }
+
+  private static ResourceBundle bundle(String name, Locale locale, ClassLoader classLoader) {
+    try {
+      return ResourceBundle.getBundle(name, locale, classLoader);
+    } catch (MissingResourceException e) {
+      return null;
+    }
+  }
+
+  /**
+   * 编译后的模板，由字面量和参数组成.
+   */
+  private static class Template {
+
+    private final List<String> raws;
+
+    /**
+     * 参数名，字面量对应null
+     */
+    private final List<String> names;
+
+    private Template(List<String> raws, List<String> names) {
+      this.raws = raws;
+      this.names = names;
+    }
+
+    static Template compile(String message) {
+      List<String> raws = new ArrayList<>();
+      List<String> names = new ArrayList<>();
+      int literalStart = 0;
+      int i = 0;
+      while (i < message.length()) {
+        char c = message.charAt(i);
+        if (c == '\\') {
+          i += 2;
+        } else if (c == '$' && i + 1 < message.length() && message.charAt(i + 1) == '{') {
+          // EL表达式原样保留
+          int end = closingBrace(message, i + 2);
+          i = end < 0 ? message.length() : end + 1;
+        } else if (c == '{') {
+          int end = closingBrace(message, i + 1);
+          if (end < 0) {
+            break;
+          }
+          if (i > literalStart) {
+            raws.add(message.substring(literalStart, i));
+            names.add(null);
+          }
+          raws.add(message.substring(i, end + 1));
+          names.add(message.substring(i + 1, end));
+          i = end + 1;
+          literalStart = i;
+        } else {
+          i++;
+        }
+      }
+      if (literalStart < message.length()) {
+        raws.add(message.substring(literalStart));
+        names.add(null);
+      }
+      return new Template(raws, names);
+    }
+
+    private static int closingBrace(String message, int from) {
+      for (int i = from; i < message.length(); i++) {
+        char c = message.charAt(i);
+        if (c == '\\') {
+          i++;
+        } else if (c == '{') {
+          return -1;
+        } else if (c == '}') {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    /**
+     * @return 使用资源文件替换参数之后的模板
+     */
+    String resolve(ResourceBundle bundle) {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < raws.size(); i++) {
+        String name = names.get(i);
+        if (name != null && bundle.containsKey(name)) {
+          builder.append(bundle.getString(name));
+        } else {
+          builder.append(raws.get(i));
+        }
+      }
+      return builder.toString();
+    }
+
+    /**
+     * @return 使用参数和注解属性替换参数并去掉转义字符之后的错误信息
+     */
+    String render(Map<String, Object> parameters, Map<String, Object> attributes) {
+      StringBuilder builder = new StringBuilder();
+      for (int i = 0; i < raws.size(); i++) {
+        String name = names.get(i);
+        Object value = null;
+        if (name != null) {
+          value = parameters.containsKey(name) ? parameters.get(name) : attributes.get(name);
+        }
+        if (value != null) {
+          builder.append(toString(value));
+        } else {
+          unescape(raws.get(i), builder);
+        }
+      }
+      return builder.toString();
+    }
+
+    private static void unescape(String raw, StringBuilder builder) {
+      for (int i = 0; i < raw.length(); i++) {
+        char c = raw.charAt(i);
+        if (c == '\\' && i + 1 < raw.length()) {
+          char next = raw.charAt(i + 1);
+          if (next == '{' || next == '}' || next == '\\' || next == '$') {
+            builder.append(next);
+            i++;
+            continue;
+          }
+        }
+        builder.append(c);
+      }
+    }
+
+    private static String toString(Object value) {
+      if (!value.getClass().isArray()) {
+        return value.toString();
+      }
+      if (value instanceof Object[]) {
+        return Arrays.toString((Object[]) value);
+      }
+      if (value instanceof int[]) {
+        return Arrays.toString((int[]) value);
+      }
+      if (value instanceof long[]) {
+        return Arrays.toString((long[]) value);
+      }
+      if (value instanceof boolean[]) {
+        return Arrays.toString((boolean[]) value);
+      }
+      if (value instanceof double[]) {
+        return Arrays.toString((double[]) value);
+      }
+      if (value instanceof float[]) {
+        return Arrays.toString((float[]) value);
+      }
+      if (value instanceof short[]) {
+        return Arrays.toString((short[]) value);
+      }
+      if (value instanceof byte[]) {
+        return Arrays.toString((byte[]) value);
+      }
+      return Arrays.toString((char[]) value);
+    }
+  }
+
+  private static class MessageKey {
+
+    private final String template;
+
+    private final ConstraintDescriptor<?> constraint;
+
+    private final Locale locale;
+
+    private MessageKey(String template, ConstraintDescriptor<?> constraint, Locale locale) {
+      this.template = template;
+      this.constraint = constraint;
+      this.locale = locale;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof MessageKey)) {
+        return false;
+      }
+      MessageKey other = (MessageKey) o;
+      return template.equals(other.template) && Objects.equals(constraint, other.constraint)
+          && Objects.equals(locale, other.locale);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(template, constraint, locale);
+    }
+  }
+}
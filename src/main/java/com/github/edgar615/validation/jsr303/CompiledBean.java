@@ -0,0 +1,366 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.ValidationResult;
+import com.github.edgar615.validation.rule.Rule;
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableSet;
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import javax.validation.Constraint;
+import javax.validation.GroupSequence;
+import javax.validation.MessageInterpolator;
+import javax.validation.Path;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import javax.validation.metadata.BeanDescriptor;
+import javax.validation.metadata.ConstraintDescriptor;
+import javax.validation.metadata.PropertyDescriptor;
+import javax.validation.metadata.ValidateUnwrappedValue;
+import org.hibernate.validator.group.GroupSequenceProvider;
+import org.hibernate.validator.messageinterpolation.HibernateMessageInterpolatorContext;
+
+/**
+ * 把JAVA BEAN上的约束编译为Rule，不经过Hibernate直接校验.
+ * <p>
+ * 只编译属于校验组的约束，校验组包括它继承的组. 只有满足下面的条件时才能编译：
+ * <ul>
+ * <li>约束定义在属性上，没有类级别、getter、级联和容器元素的约束</li>
+ * <li>校验组是接口并且不是组序列，类上没有重新定义默认的组序列</li>
+ * <li>属于校验组的约束都不是组合约束，并且是本项目的注解，或者{@code @NotNull}、{@code @Size}</li>
+ * <li>属于校验组的约束的错误信息模板不包含EL表达式</li>
+ * <li>约束不需要取出OptionalInt等包装类型中的值，没有指定Unwrapping.Unwrap</li>
+ * </ul>
+ * 错误信息在编译时使用Hibernate的MessageInterpolator解析，和Hibernate校验的输出相同.
+ *
+ * @author Edgar
+ */
+final class CompiledBean {
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  /**
+   * Hibernate默认取出包装的值再校验的类型，JavaFX的类型不一定存在，所以使用类名
+   */
+  private static final Set<String> UNWRAPPED_BY_DEFAULT = ImmutableSet.of(
+      OptionalInt.class.getName(), OptionalLong.class.getName(), OptionalDouble.class.getName(),
+      "javafx.beans.value.ObservableValue");
+
+  private final Class<?> beanClass;
+
+  private final String[] properties;
+
+  private final MethodHandle[] getters;
+
+  private final Rule[][] rules;
+
+  private CompiledBean(Class<?> beanClass, List<String> properties, List<MethodHandle> getters,
+      List<Rule[]> rules) {
+    this.beanClass = beanClass;
+    this.properties = properties.toArray(new String[0]);
+    this.getters = getters.toArray(new MethodHandle[0]);
+    this.rules = rules.toArray(new Rule[0][]);
+  }
+
+  /**
+   * 编译JAVA BEAN的约束.
+   *
+   * @param beanClass JAVA BEAN的类
+   * @param groups 校验组，不能为空，默认组使用Default.class
+   * @param validator 用来读取约束的Validator
+   * @param interpolator 用来解析错误信息的MessageInterpolator
+   * @return 编译后的约束，如果不能编译，返回null
+   */
+  static CompiledBean compile(Class<?> beanClass, List<Class<?>> groups, Validator validator,
+      MessageInterpolator interpolator) {
+    if (beanClass.isAnnotationPresent(GroupSequence.class)
+        || beanClass.isAnnotationPresent(GroupSequenceProvider.class)) {
+      return null;
+    }
+    for (Class<?> group : groups) {
+      if (!group.isInterface() || group.isAnnotationPresent(GroupSequence.class)) {
+        return null;
+      }
+    }
+    BeanDescriptor bean = validator.getConstraintsForClass(beanClass);
+    if (!bean.getConstraintDescriptors().isEmpty()) {
+      return null;
+    }
+    List<String> properties = new ArrayList<>();
+    List<MethodHandle> getters = new ArrayList<>();
+    List<Rule[]> rules = new ArrayList<>();
+    for (PropertyDescriptor property : bean.getConstrainedProperties()) {
+      if (property.isCascaded() || !property.getConstrainedContainerElementTypes().isEmpty()) {
+        return null;
+      }
+      Field field = field(beanClass, property.getPropertyName());
+      Set<ConstraintDescriptor<?>> constraints = property.getConstraintDescriptors();
+      if (field == null || constraintCount(field) != constraints.size()) {
+        // 有getter上的约束
+        return null;
+      }
+      List<Rule> fieldRules = new ArrayList<>();
+      for (ConstraintDescriptor<?> constraint : constraints) {
+        if (!belongsTo(constraint, groups)) {
+          continue;
+        }
+        Rule rule = compile(beanClass, field, constraint, interpolator);
+        if (rule == null) {
+          return null;
+        }
+        fieldRules.add(rule);
+      }
+      if (fieldRules.isEmpty()) {
+        continue;
+      }
+      MethodHandle getter = getter(field);
+      if (getter == null) {
+        return null;
+      }
+      properties.add(property.getPropertyName());
+      getters.add(getter);
+      rules.add(fieldRules.toArray(new Rule[0]));
+    }
+    return new CompiledBean(beanClass, properties, getters, rules);
+  }
+
+  private static Rule compile(Class<?> beanClass, Field field, ConstraintDescriptor<?> constraint,
+      MessageInterpolator interpolator) {
+    Annotation annotation = constraint.getAnnotation();
+    if (!constraint.getComposingConstraints().isEmpty()
+        || constraint.getMessageTemplate().indexOf('$') >= 0
+        || !isDeclared(field, annotation)
+        || isUnwrapped(constraint, field.getType())) {
+      return null;
+    }
+    String message;
+    try {
+      message = interpolator
+          .interpolate(constraint.getMessageTemplate(), new Context(beanClass, constraint));
+    } catch (RuntimeException e) {
+      return null;
+    }
+    return ConstraintRule.of(annotation, field.getType(), message);
+  }
+
+  /**
+   * Hibernate会先取出OptionalInt等包装类型中的值再校验，编译后的Rule直接校验属性，所以这些约束不编译.
+   *
+   * @return 约束校验的是属性中包装的值时返回true
+   */
+  private static boolean isUnwrapped(ConstraintDescriptor<?> constraint, Class<?> type) {
+    if (constraint.getValueUnwrapping() == ValidateUnwrappedValue.UNWRAP) {
+      return true;
+    }
+    if (constraint.getValueUnwrapping() == ValidateUnwrappedValue.SKIP) {
+      return false;
+    }
+    for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+      if (UNWRAPPED_BY_DEFAULT.contains(c.getName())) {
+        return true;
+      }
+      for (Class<?> i : c.getInterfaces()) {
+        if (UNWRAPPED_BY_DEFAULT.contains(i.getName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return 约束属于校验组，或者属于校验组继承的组时返回true
+   */
+  private static boolean belongsTo(ConstraintDescriptor<?> constraint, List<Class<?>> groups) {
+    for (Class<?> declared : constraint.getGroups()) {
+      for (Class<?> group : groups) {
+        if (declared.isAssignableFrom(group)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @param property 属性名
+   * @return 属性的下标，没有约束的属性返回-1
+   */
+  int indexOf(String property) {
+    for (int i = 0; i < properties.length; i++) {
+      if (properties[i].equals(property)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * 校验JAVA BEAN.
+   *
+   * @param bean JAVA BEAN
+   * @param failFast 是否在第一个错误后停止
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   */
+  ValidationResult check(Object bean, boolean failFast, ValidationResult result) {
+    int errors = result == null ? 0 : result.errorCount();
+    for (int i = 0; i < properties.length; i++) {
+      result = checkProperty(bean, i, failFast, result);
+      if (failFast && result != null && result.errorCount() > errors) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 校验JAVA BEAN的一个属性.
+   *
+   * @param bean JAVA BEAN
+   * @param index 属性的下标
+   * @param failFast 是否在第一个错误后停止
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   */
+  ValidationResult checkProperty(Object bean, int index, boolean failFast,
+      ValidationResult result) {
+    Object value = get(index, bean);
+    for (Rule rule : rules[index]) {
+      if (!rule.isValid(value)) {
+        if (result == null) {
+          result = new ValidationResult();
+        }
+        result.addError(properties[index], rule.message());
+        if (failFast) {
+          return result;
+        }
+      }
+    }
+    return result;
+  }
+
+  private Object get(int index, Object bean) {
+    try {
+      return getters[index].invokeExact(bean);
+    } catch (Throwable e) {
+      Throwables.throwIfUnchecked(e);
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * @return 类以及父类中名为name的非静态属性，不存在或者有多个时返回null
+   */
+  private static Field field(Class<?> beanClass, String name) {
+    Field found = null;
+    for (Class<?> c = beanClass; c != null && c != Object.class; c = c.getSuperclass()) {
+      for (Field field : c.getDeclaredFields()) {
+        if (field.getName().equals(name) && !Modifier.isStatic(field.getModifiers())) {
+          if (found != null) {
+            return null;
+          }
+          found = field;
+        }
+      }
+    }
+    return found;
+  }
+
+  private static int constraintCount(Field field) {
+    int count = 0;
+    for (Annotation annotation : field.getDeclaredAnnotations()) {
+      if (annotation.annotationType().isAnnotationPresent(Constraint.class)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static boolean isDeclared(Field field, Annotation annotation) {
+    for (Annotation declared : field.getDeclaredAnnotations()) {
+      if (declared.equals(annotation)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static MethodHandle getter(Field field) {
+    try {
+      field.setAccessible(true);
+      return MethodHandles.lookup().unreflectGetter(field).asType(GETTER_TYPE);
+    } catch (IllegalAccessException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  @Override
+  public String toString() {
+    return "CompiledBean(" + beanClass.getName() + ")";
+  }
+
+  /**
+   * 解析错误信息时使用的上下文，被校验的值为null.
+   */
+  private static class Context implements HibernateMessageInterpolatorContext {
+
+    private final Class<?> rootBeanType;
+
+    private final ConstraintDescriptor<?> constraint;
+
+    private Context(Class<?> rootBeanType, ConstraintDescriptor<?> constraint) {
+      this.rootBeanType = rootBeanType;
+      this.constraint = constraint;
+    }
+
+    @Override
+    public ConstraintDescriptor<?> getConstraintDescriptor() {
+      return constraint;
+    }
+
+    @Override
+    public Object getValidatedValue() {
+      return null;
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+      if (type.isInstance(this)) {
+        return type.cast(this);
+      }
+      throw new ValidationException("Type " + type + " not supported for unwrapping.");
+    }
+
+    @Override
+    public Class<?> getRootBeanType() {
+      return rootBeanType;
+    }
+
+    @Override
+    public Map<String, Object> getMessageParameters() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Map<String, Object> getExpressionVariables() {
+      return Collections.emptyMap();
+    }
+
+    @Override
+    public Path getPropertyPath() {
+      return null;
+    }
+  }
+}
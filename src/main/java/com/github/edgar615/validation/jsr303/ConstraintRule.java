@@ -0,0 +1,144 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.rule.Rule;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Strings;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Predicate;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+/**
+ * 和约束注解等价的Rule，错误信息是预先解析好的.
+ * <p>
+ * 校验的语义和注解对应的ConstraintValidator完全相同，例如FixLengthValidator认为null是非法的.
+ *
+ * @author Edgar
+ */
+final class ConstraintRule implements Rule {
+
+  private final String message;
+
+  private final Predicate<Object> predicate;
+
+  private final String annotation;
+
+  private ConstraintRule(String message, Predicate<Object> predicate, Annotation annotation) {
+    this.message = message;
+    this.predicate = predicate;
+    this.annotation = annotation.annotationType().getSimpleName();
+  }
+
+  /**
+   * 创建约束注解对应的Rule.
+   *
+   * @param annotation 约束注解
+   * @param type 属性的类型
+   * @param message 解析后的错误信息
+   * @return Rule，如果不支持这个注解或者注解不能用于这个类型，返回null
+   */
+  static ConstraintRule of(Annotation annotation, Class<?> type, String message) {
+    Predicate<Object> predicate = predicate(annotation, type);
+    return predicate == null ? null : new ConstraintRule(message, predicate, annotation);
+  }
+
+  private static Predicate<Object> predicate(Annotation annotation, Class<?> type) {
+    if (annotation instanceof NotNull) {
+      return value -> value != null;
+    }
+    if (annotation instanceof ProhibitedValidator) {
+      return Rule.prohibited()::isValid;
+    }
+    if (annotation instanceof Size) {
+      return size((Size) annotation, type);
+    }
+    // 其他注解的ConstraintValidator都只能校验String
+    if (type != String.class) {
+      return null;
+    }
+    if (annotation instanceof AlphaValidator) {
+      return Rule.alpha()::isValid;
+    }
+    if (annotation instanceof AlphaNumberValidator) {
+      return Rule.alphaNumber()::isValid;
+    }
+    if (annotation instanceof AlphaNumberUnderscoreValidator) {
+      return Rule.alphaUnderscore()::isValid;
+    }
+    if (annotation instanceof AlphaSpaceValidator) {
+      return Rule.alphaSpace()::isValid;
+    }
+    if (annotation instanceof FixLengthValidator) {
+      int length = ((FixLengthValidator) annotation).length();
+      return value -> value != null && ((String) value).length() == length;
+    }
+    if (annotation instanceof DateValidator) {
+      return dateTime(((DateValidator) annotation).format(), LocalDate::from);
+    }
+    if (annotation instanceof DateTimeValidator) {
+      return dateTime(((DateTimeValidator) annotation).format(), LocalDateTime::from);
+    }
+    if (annotation instanceof TimeValidator) {
+      return dateTime(((TimeValidator) annotation).format(), LocalTime::from);
+    }
+    return null;
+  }
+
+  private static Predicate<Object> dateTime(String format, TemporalQuery<?> query) {
+    DateTimeFormatter formatter = DateTimeFormats.formatter(format);
+    return value -> Strings.isNullOrEmpty((String) value)
+        || DateTimeFormats.isValid((String) value, formatter, query);
+  }
+
+  private static Predicate<Object> size(Size size, Class<?> type) {
+    int min = size.min();
+    int max = size.max();
+    if (min < 0 || max < min) {
+      // Hibernate会抛出异常
+      return null;
+    }
+    if (CharSequence.class.isAssignableFrom(type)) {
+      return value -> value == null || between(((CharSequence) value).length(), min, max);
+    }
+    if (Collection.class.isAssignableFrom(type)) {
+      return value -> value == null || between(((Collection<?>) value).size(), min, max);
+    }
+    if (Map.class.isAssignableFrom(type)) {
+      return value -> value == null || between(((Map<?, ?>) value).size(), min, max);
+    }
+    if (type.isArray()) {
+      return value -> value == null || between(Array.getLength(value), min, max);
+    }
+    return null;
+  }
+
+  private static boolean between(int length, int min, int max) {
+    return length >= min && length <= max;
+  }
+
+  @Override
+  public String message() {
+    return message;
+  }
+
+  @Override
+  public boolean isValid(Object property) {
+    return predicate.test(property);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper("ConstraintRule")
+        .add("annotation", annotation)
+        .add("message", message)
+        .toString();
+  }
+}
@@ -3,16 +3,19 @@ package com.github.edgar615.validation.jsr303;
 import com.google.common.base.Strings;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 public class DateConstraintValidator implements ConstraintValidator<DateValidator, String> {
 
-  private String dateFormat;
+  private static final TemporalQuery<LocalDate> QUERY = LocalDate::from;
+
+  private DateTimeFormatter formatter;
 
   @Override
   public void initialize(DateValidator constraintAnnotation) {
-    this.dateFormat = constraintAnnotation.format();
+    this.formatter = DateTimeFormats.formatter(constraintAnnotation.format());
   }
 
 
@@ -21,11 +24,6 @@ public class DateConstraintValidator implements ConstraintValidator<DateValidato
     if (Strings.isNullOrEmpty(value)) {
       return true;
     }
-    try {
-      LocalDate.parse(value, DateTimeFormatter.ofPattern(dateFormat));
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return DateTimeFormats.isValid(value, formatter, QUERY);
   }
 }
@@ -3,16 +3,19 @@ package com.github.edgar615.validation.jsr303;
 import com.google.common.base.Strings;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 public class DateTimeConstraintValidator implements ConstraintValidator<DateTimeValidator, String> {
 
-  private String dateFormat;
+  private static final TemporalQuery<LocalDateTime> QUERY = LocalDateTime::from;
+
+  private DateTimeFormatter formatter;
 
   @Override
   public void initialize(DateTimeValidator constraintAnnotation) {
-    this.dateFormat = constraintAnnotation.format();
+    this.formatter = DateTimeFormats.formatter(constraintAnnotation.format());
   }
 
 
@@ -21,11 +24,6 @@ public class DateTimeConstraintValidator implements ConstraintValidator<DateTime
     if (Strings.isNullOrEmpty(value)) {
       return true;
     }
-    try {
-      LocalDateTime.parse(value, DateTimeFormatter.ofPattern(dateFormat));
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return DateTimeFormats.isValid(value, formatter, QUERY);
   }
 }
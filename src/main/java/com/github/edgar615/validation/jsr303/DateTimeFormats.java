@@ -0,0 +1,77 @@
+package com.github.edgar615.validation.jsr303;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQuery;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 日期格式的缓存和不抛出异常的解析.
+ * <p>
+ * 同一个格式只创建一次DateTimeFormatter. 校验时先用ParsePosition做不抛出异常的解析，再检查月、日、分、秒的取值范围，
+ * 只有这两步都通过的值才会真正解析，所以非法的输入基本不会创建异常.
+ */
+final class DateTimeFormats {
+
+  private static final ConcurrentMap<String, DateTimeFormatter> FORMATTERS =
+      new ConcurrentHashMap<>();
+
+  /**
+   * SMART和STRICT模式下解析时一定会校验取值范围的字段. 时钟小时(例如hh的0)和24:00在SMART模式下是合法的，不在这里检查
+   */
+  private static final ChronoField[] CHECKED_FIELDS = {ChronoField.MONTH_OF_YEAR,
+      ChronoField.DAY_OF_MONTH, ChronoField.MINUTE_OF_HOUR, ChronoField.SECOND_OF_MINUTE};
+
+  private DateTimeFormats() {
+    throw new AssertionError("Not instantiable: " + DateTimeFormats.class);
+  }
+
+  /**
+   * 获取格式对应的DateTimeFormatter.
+   *
+   * @param pattern 格式
+   * @return DateTimeFormatter
+   * @throws IllegalArgumentException 格式不合法
+   */
+  static DateTimeFormatter formatter(String pattern) {
+    DateTimeFormatter formatter = FORMATTERS.get(pattern);
+    if (formatter == null) {
+      formatter = FORMATTERS.computeIfAbsent(pattern, DateTimeFormatter::ofPattern);
+    }
+    return formatter;
+  }
+
+  /**
+   * 判断字符串是否可以按格式解析为query对应的类型.
+   *
+   * @param value 字符串
+   * @param formatter 格式
+   * @param query 解析的类型，例如LocalDate::from
+   * @return 合法返回true
+   */
+  static boolean isValid(String value, DateTimeFormatter formatter, TemporalQuery<?> query) {
+    ParsePosition position = new ParsePosition(0);
+    TemporalAccessor parsed = formatter.parseUnresolved(value, position);
+    if (parsed == null || position.getErrorIndex() >= 0 || position.getIndex() < value.length()) {
+      return false;
+    }
+    if (formatter.getResolverStyle() != ResolverStyle.LENIENT) {
+      for (ChronoField field : CHECKED_FIELDS) {
+        if (parsed.isSupported(field) && !field.range().isValidValue(parsed.getLong(field))) {
+          return false;
+        }
+      }
+    }
+    try {
+      formatter.parse(value, query);
+      return true;
+    } catch (DateTimeException e) {
+      return false;
+    }
+  }
+}
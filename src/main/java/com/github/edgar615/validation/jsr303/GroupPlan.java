@@ -0,0 +1,144 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+import javax.validation.Validator;
+
+/**
+ * 一个JAVA BEAN的类和一组校验组对应的校验计划.
+ * <p>
+ * 创建计划时预先计算属于这些校验组的约束，如果约束都可以编译为Rule，校验时只遍历一个数组，
+ * 否则使用Hibernate按校验组校验. 计划按类和校验组缓存，修改Validations的配置之后重新创建.
+ * <pre>
+ *   GroupPlan plan = GroupPlan.of(User.class, InsertGroup.class);
+ *   ValidationResult result = plan.validateToResult(user);
+ * </pre>
+ *
+ * @author Edgar
+ */
+public final class GroupPlan {
+
+  private final Class<?> beanClass;
+
+  private final List<Class<?>> groups;
+
+  private final Class<?>[] groupArray;
+
+  private final CompiledBean compiled;
+
+  private final Validator validator;
+
+  private final boolean failFast;
+
+  GroupPlan(Class<?> beanClass, List<Class<?>> groups, CompiledBean compiled, Validator validator,
+      boolean failFast) {
+    this.beanClass = beanClass;
+    this.groups = ImmutableList.copyOf(groups);
+    this.groupArray = groups.toArray(new Class<?>[0]);
+    this.compiled = compiled;
+    this.validator = validator;
+    this.failFast = failFast;
+  }
+
+  /**
+   * 获取校验计划.
+   *
+   * @param beanClass JAVA BEAN的类
+   * @param groups 校验组，没有校验组时使用Default组
+   * @return 校验计划
+   */
+  public static GroupPlan of(Class<?> beanClass, Class<?>... groups) {
+    return Validations.plan(Preconditions.checkNotNull(beanClass, "beanClass can not be null"),
+        groups);
+  }
+
+  /**
+   * 指定了校验组的计划缓存的统计，只使用Default组的计划不在统计中. 修改Validations的配置之后重新统计.
+   *
+   * @return 缓存的命中、加载次数
+   */
+  public static CacheStats stats() {
+    return Validations.planStats();
+  }
+
+  public Class<?> beanClass() {
+    return beanClass;
+  }
+
+  public List<Class<?>> groups() {
+    return groups;
+  }
+
+  /**
+   * @return 约束编译为Rule时返回true，否则使用Hibernate校验
+   */
+  public boolean isCompiled() {
+    return compiled != null;
+  }
+
+  /**
+   * 校验对象，校验失败时抛出ValidationException.
+   *
+   * @param bean JAVA BEAN
+   */
+  public void validate(Object bean) {
+    ValidationResult result = check(bean, null);
+    if (result != null && !result.isValid()) {
+      throw result.toException();
+    }
+  }
+
+  /**
+   * 校验对象，校验失败时不抛出异常，而是把错误信息记录在返回的对象中.
+   *
+   * @param bean JAVA BEAN
+   * @return 校验结果
+   */
+  public ValidationResult validateToResult(Object bean) {
+    return validateToResult(bean, new ValidationResult());
+  }
+
+  /**
+   * 校验对象，校验失败时不抛出异常，而是把错误信息记录在传入的对象中.
+   *
+   * @param bean JAVA BEAN
+   * @param result 保存错误信息的对象
+   * @return 传入的result
+   */
+  public ValidationResult validateToResult(Object bean, ValidationResult result) {
+    return check(bean, Preconditions.checkNotNull(result, "result can not be null"));
+  }
+
+  /**
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   */
+  ValidationResult check(Object bean, ValidationResult result) {
+    Preconditions.checkArgument(beanClass.isInstance(bean), "bean must be an instance of %s",
+        beanClass);
+    if (compiled != null && bean.getClass() == beanClass) {
+      return compiled.check(bean, failFast, result);
+    }
+    return Validations.addViolations(validator.validate(bean, groupArray), result);
+  }
+
+  /**
+   * @return 编译后的约束，没有编译时返回null
+   */
+  CompiledBean compiled() {
+    return compiled;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper("GroupPlan")
+        .add("beanClass", beanClass.getName())
+        .add("groups", groups)
+        .add("compiled", compiled != null)
+        .toString();
+  }
+}
@@ -11,7 +11,7 @@ import javax.validation.Payload;
 @Target(ElementType.FIELD)
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
-@Constraint(validatedBy = TimeConstraintValidator.class)
+@Constraint(validatedBy = ProhibitedConstraintValidator.class)
 public @interface ProhibitedValidator {
 
   String message() default "必须为null";
@@ -3,16 +3,19 @@ package com.github.edgar615.validation.jsr303;
 import com.google.common.base.Strings;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalQuery;
 import javax.validation.ConstraintValidator;
 import javax.validation.ConstraintValidatorContext;
 
 public class TimeConstraintValidator implements ConstraintValidator<TimeValidator, String> {
 
-  private String timeFormat;
+  private static final TemporalQuery<LocalTime> QUERY = LocalTime::from;
+
+  private DateTimeFormatter formatter;
 
   @Override
   public void initialize(TimeValidator constraintAnnotation) {
-    this.timeFormat = constraintAnnotation.format();
+    this.formatter = DateTimeFormats.formatter(constraintAnnotation.format());
   }
 
 
@@ -21,11 +24,6 @@ public class TimeConstraintValidator implements ConstraintValidator<TimeValidato
     if (Strings.isNullOrEmpty(value)) {
       return true;
     }
-    try {
-      LocalTime.parse(value, DateTimeFormatter.ofPattern(timeFormat));
-      return true;
-    } catch (Exception e) {
-      return false;
-    }
+    return DateTimeFormats.isValid(value, formatter, QUERY);
   }
 }
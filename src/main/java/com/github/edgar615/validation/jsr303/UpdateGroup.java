@@ -3,6 +3,6 @@ package com.github.edgar615.validation.jsr303;
 /**
  * 在很多业务里，insert和update的校验规则不同，此处定义两个group用来区分
  */
-public class UpdateGroup {
+public interface UpdateGroup {
 
 }
@@ -1,22 +1,129 @@
 package com.github.edgar615.validation.jsr303;
 
-import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.ClassPath;
+import com.google.common.reflect.ClassPath.ClassInfo;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
 import javax.validation.ConstraintViolation;
+import javax.validation.MessageInterpolator;
 import javax.validation.Validation;
 import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import javax.validation.groups.Default;
 import org.hibernate.validator.HibernateValidator;
+import org.hibernate.validator.HibernateValidatorConfiguration;
 
 /**
  * 校验工具类
+ * <p>
+ * Validator在第一次校验或者warmUp时创建，可以通过configure修改配置.
+ * <p>
+ * 使用默认组校验时，如果JAVA BEAN上只有可以编译为Rule的简单约束，直接使用编译后的Rule校验，不经过Hibernate，
+ * 输出的错误和Hibernate相同. 不能编译的JAVA BEAN仍然使用Hibernate校验，参考CompiledBean.
+ * <p>
+ * 如果没有设置MessageInterpolator并且classpath中没有javax.el，使用CachedMessageInterpolator，
+ * 所以可以在依赖中排除javax.el.
  */
 public class Validations {
 
   /**
-   * 开启快速结束模式 failFast (true)
+   * 第一次使用时才创建，创建ValidatorFactory需要几百毫秒
    */
-  private static Validator validator = Validation.byProvider(HibernateValidator.class).configure()
-      .failFast(false).buildValidatorFactory().getValidator();
+  private static volatile Bootstrap bootstrap;
+
+  private static ValidatorOptions options = ValidatorOptions.defaults();
+
+  /**
+   * 检查classpath中是否有EL实现，测试时可以替换
+   */
+  static volatile BooleanSupplier expressionLanguage = Validations::isExpressionLanguageAvailable;
+
+  /**
+   * 修改创建Validator的配置，之后的校验使用新的配置. 应该在启动时、warmUp之前调用，
+   * 之前创建的ValidatorFactory会被关闭.
+   *
+   * @param options 配置
+   */
+  public static synchronized void configure(ValidatorOptions options) {
+    Validations.options = Preconditions.checkNotNull(options, "options can not be null");
+    Bootstrap previous = bootstrap;
+    bootstrap = null;
+    if (previous != null) {
+      previous.factory.close();
+    }
+  }
+
+  /**
+   * 预先解析并编译JAVA BEAN的约束，避免第一次校验时解析.
+   *
+   * @param beanClasses JAVA BEAN的类
+   */
+  public static void warmUp(Class<?>... beanClasses) {
+    Bootstrap bootstrap = bootstrap();
+    for (Class<?> beanClass : beanClasses) {
+      bootstrap.warmUp(beanClass);
+    }
+  }
+
+  /**
+   * 预先解析一个包以及子包中所有类的约束，接口、注解和枚举除外.
+   *
+   * @param packageName 包名
+   * @return 解析的类的数量
+   */
+  public static int warmUp(String packageName) {
+    Bootstrap bootstrap = bootstrap();
+    ClassLoader classLoader = MoreObjects.firstNonNull(
+        Thread.currentThread().getContextClassLoader(), Validations.class.getClassLoader());
+    ImmutableSet<ClassInfo> classes;
+    try {
+      classes = ClassPath.from(classLoader).getTopLevelClassesRecursive(packageName);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    int count = 0;
+    for (ClassInfo classInfo : classes) {
+      Class<?> beanClass;
+      try {
+        beanClass = Class.forName(classInfo.getName(), false, classLoader);
+      } catch (ClassNotFoundException | LinkageError e) {
+        continue;
+      }
+      if (beanClass.isInterface() || beanClass.isEnum()) {
+        continue;
+      }
+      bootstrap.warmUp(beanClass);
+      count++;
+    }
+    return count;
+  }
+
+  private static Bootstrap bootstrap() {
+    Bootstrap result = bootstrap;
+    if (result == null) {
+      synchronized (Validations.class) {
+        result = bootstrap;
+        if (result == null) {
+          bootstrap = result = new Bootstrap(options);
+        }
+      }
+    }
+    return result;
+  }
 
   /**
    * 校验对象
@@ -25,18 +132,36 @@ public class Validations {
    * @param groups 校验组
    */
   public static <T> void validateBean(T t, Class<?>... groups) {
-    Set<ConstraintViolation<T>> violationSet = validator.validate(t, groups);
-    boolean hasError = violationSet != null && violationSet.size() > 0;
-    if (hasError) {
-      ValidationException validationException = new ValidationException();
-      for (ConstraintViolation<T> violation : violationSet) {
-        validationException
-            .putError(violation.getPropertyPath().toString(), violation.getMessage());
-      }
-      throw validationException;
+    ValidationResult result = checkBean(t, groups, null);
+    if (result != null && !result.isValid()) {
+      throw result.toException();
     }
   }
 
+  /**
+   * 校验对象，校验失败时不抛出异常，而是把错误信息记录在返回的对象中.
+   *
+   * @param t bean
+   * @param groups 校验组
+   * @return 校验结果
+   */
+  public static <T> ValidationResult validateBeanToResult(T t, Class<?>... groups) {
+    return validateBeanToResult(t, new ValidationResult(), groups);
+  }
+
+  /**
+   * 校验对象，校验失败时不抛出异常，而是把错误信息记录在传入的对象中.
+   *
+   * @param t bean
+   * @param result 保存错误信息的对象
+   * @param groups 校验组
+   * @return 传入的result
+   */
+  public static <T> ValidationResult validateBeanToResult(T t, ValidationResult result,
+      Class<?>... groups) {
+    return checkBean(t, groups, Preconditions.checkNotNull(result, "result can not be null"));
+  }
+
   /**
    * 校验bean的某一个属性
    *
@@ -44,21 +169,210 @@ public class Validations {
    * @param propertyName 属性名称
    */
   public static <T> void validateProperty(T obj, String propertyName) {
-    Set<ConstraintViolation<T>> violationSet = validator.validateProperty(obj, propertyName);
-    boolean hasError = violationSet != null && violationSet.size() > 0;
-    if (hasError) {
-      ValidationException validationException = transformEx(violationSet);
-      throw validationException;
+    validateProperties(obj, propertyName);
+  }
+
+  /**
+   * 校验bean的某一个属性，校验失败时不抛出异常，而是把错误信息记录在返回的对象中.
+   *
+   * @param obj bean
+   * @param propertyName 属性名称
+   * @return 校验结果
+   */
+  public static <T> ValidationResult validatePropertyToResult(T obj, String propertyName) {
+    return validatePropertiesToResult(obj, propertyName);
+  }
+
+  /**
+   * 校验bean的多个属性，所有属性的错误一起抛出.
+   *
+   * @param obj bean
+   * @param propertyNames 属性名称
+   */
+  public static <T> void validateProperties(T obj, String... propertyNames) {
+    ValidationResult result = checkProperties(obj, propertyNames, null);
+    if (result != null && !result.isValid()) {
+      throw result.toException();
     }
   }
 
-  private static <T> ValidationException transformEx(Set<ConstraintViolation<T>> violationSet) {
-    ValidationException validationException = new ValidationException();
-    for (ConstraintViolation<T> violation : violationSet) {
-      validationException
-          .putError(violation.getPropertyPath().toString(), violation.getMessage());
+  /**
+   * 校验bean的多个属性，校验失败时不抛出异常，而是把错误信息记录在返回的对象中.
+   *
+   * @param obj bean
+   * @param propertyNames 属性名称
+   * @return 校验结果
+   */
+  public static <T> ValidationResult validatePropertiesToResult(T obj, String... propertyNames) {
+    return checkProperties(obj, propertyNames, new ValidationResult());
+  }
+
+  private static <T> ValidationResult checkBean(T t, Class<?>[] groups,
+      ValidationResult result) {
+    Bootstrap bootstrap = bootstrap();
+    if (t == null) {
+      // 由Hibernate抛出异常
+      return addViolations(bootstrap.validator.validate(t, groups), result);
+    }
+    return bootstrap.plan(t.getClass(), groups).check(t, result);
+  }
+
+  private static <T> ValidationResult checkProperties(T obj, String[] propertyNames,
+      ValidationResult result) {
+    Bootstrap bootstrap = bootstrap();
+    CompiledBean compiled = obj == null ? null : bootstrap.plan(obj.getClass()).compiled();
+    boolean failFast = bootstrap.options.failFast();
+    int errors = result == null ? 0 : result.errorCount();
+    for (String propertyName : propertyNames) {
+      int index = compiled == null ? -1 : compiled.indexOf(propertyName);
+      if (index >= 0) {
+        result = compiled.checkProperty(obj, index, failFast, result);
+      } else {
+        // 不存在的属性由Hibernate抛出异常
+        result = addViolations(bootstrap.validator.validateProperty(obj, propertyName), result);
+      }
+      if (failFast && result != null && result.errorCount() > errors) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 属性路径在读取错误时才转换为字符串.
+   */
+  static <T> ValidationResult addViolations(Set<ConstraintViolation<T>> violations,
+      ValidationResult result) {
+    if (violations == null || violations.isEmpty()) {
+      return result;
+    }
+    if (result == null) {
+      result = new ValidationResult();
+    }
+    for (ConstraintViolation<T> violation : violations) {
+      result.addError(violation.getPropertyPath(), violation.getMessage());
+    }
+    return result;
+  }
+
+  static GroupPlan plan(Class<?> beanClass, Class<?>... groups) {
+    return bootstrap().plan(beanClass, groups);
+  }
+
+  static CacheStats planStats() {
+    return bootstrap().plans.stats();
+  }
+
+  private static boolean isExpressionLanguageAvailable() {
+    try {
+      Class.forName("javax.el.ExpressionFactory", false, Validations.class.getClassLoader())
+          .getMethod("newInstance").invoke(null);
+      return true;
+    } catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+      return false;
+    }
+  }
+
+  private static boolean isDefaultGroup(Class<?>[] groups) {
+    return groups.length == 0 || (groups.length == 1 && groups[0] == Default.class);
+  }
+
+  private static class Bootstrap {
+
+    private static final List<Class<?>> DEFAULT_GROUPS = ImmutableList.of(Default.class);
+
+    private final ValidatorOptions options;
+
+    private final ValidatorFactory factory;
+
+    private final Validator validator;
+
+    /**
+     * 只使用Default组的计划
+     */
+    private final ClassValue<GroupPlan> defaultPlans = new ClassValue<GroupPlan>() {
+      @Override
+      protected GroupPlan computeValue(Class<?> type) {
+        return createPlan(type, DEFAULT_GROUPS);
+      }
+    };
+
+    private final Cache<PlanKey, GroupPlan> plans = CacheBuilder.newBuilder().recordStats()
+        .build();
+
+    private Bootstrap(ValidatorOptions options) {
+      HibernateValidatorConfiguration configuration = Validation
+          .byProvider(HibernateValidator.class).configure().failFast(options.failFast());
+      if (options.messageInterpolator() != null) {
+        configuration.messageInterpolator(options.messageInterpolator());
+      } else if (!expressionLanguage.getAsBoolean()) {
+        // 没有javax.el时Hibernate默认的MessageInterpolator无法创建
+        configuration.messageInterpolator(new CachedMessageInterpolator());
+      }
+      if (options.clockProvider() != null) {
+        configuration.clockProvider(options.clockProvider());
+      }
+      this.options = options;
+      this.factory = configuration.buildValidatorFactory();
+      this.validator = factory.getValidator();
+    }
+
+    private GroupPlan plan(Class<?> beanClass, Class<?>... groups) {
+      if (isDefaultGroup(groups)) {
+        return defaultPlans.get(beanClass);
+      }
+      List<Class<?>> groupList = ImmutableList.copyOf(groups);
+      try {
+        return plans.get(new PlanKey(beanClass, groupList), () -> createPlan(beanClass, groupList));
+      } catch (ExecutionException | UncheckedExecutionException e) {
+        Throwables.throwIfUnchecked(e.getCause());
+        throw new IllegalStateException(e.getCause());
+      }
+    }
+
+    private GroupPlan createPlan(Class<?> beanClass, List<Class<?>> groups) {
+      CompiledBean compiled = null;
+      MessageInterpolator interpolator = options.messageInterpolator();
+      if (options.compileBeans()
+          && (interpolator == null || interpolator instanceof CachedMessageInterpolator)) {
+        compiled = CompiledBean
+            .compile(beanClass, groups, validator, factory.getMessageInterpolator());
+      }
+      return new GroupPlan(beanClass, groups, compiled, validator, options.failFast());
+    }
+
+    private void warmUp(Class<?> beanClass) {
+      validator.getConstraintsForClass(beanClass);
+      defaultPlans.get(beanClass);
     }
-    return validationException;
   }
 
+  private static class PlanKey {
+
+    private final Class<?> beanClass;
+
+    private final List<Class<?>> groups;
+
+    private PlanKey(Class<?> beanClass, List<Class<?>> groups) {
+      this.beanClass = beanClass;
+      this.groups = groups;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PlanKey)) {
+        return false;
+      }
+      PlanKey other = (PlanKey) o;
+      return beanClass == other.beanClass && groups.equals(other.groups);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * beanClass.hashCode() + groups.hashCode();
+    }
+  }
 }
@@ -0,0 +1,129 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.google.common.base.MoreObjects;
+import javax.validation.ClockProvider;
+import javax.validation.MessageInterpolator;
+
+/**
+ * 创建Validator的配置.
+ *
+ * @author Edgar
+ */
+public final class ValidatorOptions {
+
+  private static final ValidatorOptions DEFAULT = builder().build();
+
+  private final boolean failFast;
+
+  private final MessageInterpolator messageInterpolator;
+
+  private final ClockProvider clockProvider;
+
+  private final boolean compileBeans;
+
+  private ValidatorOptions(Builder builder) {
+    this.failFast = builder.failFast;
+    this.messageInterpolator = builder.messageInterpolator;
+    this.clockProvider = builder.clockProvider;
+    this.compileBeans = builder.compileBeans;
+  }
+
+  /**
+   * @return 默认配置：不开启快速结束模式，使用Hibernate默认的MessageInterpolator和ClockProvider，编译简单的JAVA BEAN
+   */
+  public static ValidatorOptions defaults() {
+    return DEFAULT;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  public boolean failFast() {
+    return failFast;
+  }
+
+  /**
+   * @return MessageInterpolator，null表示使用默认值
+   */
+  public MessageInterpolator messageInterpolator() {
+    return messageInterpolator;
+  }
+
+  /**
+   * @return ClockProvider，null表示使用默认值
+   */
+  public ClockProvider clockProvider() {
+    return clockProvider;
+  }
+
+  public boolean compileBeans() {
+    return compileBeans;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper("ValidatorOptions")
+        .add("failFast", failFast)
+        .add("messageInterpolator", messageInterpolator)
+        .add("clockProvider", clockProvider)
+        .add("compileBeans", compileBeans)
+        .toString();
+  }
+
+  public static class Builder {
+
+    private boolean failFast;
+
+    private MessageInterpolator messageInterpolator;
+
+    private ClockProvider clockProvider;
+
+    private boolean compileBeans = true;
+
+    private Builder() {
+    }
+
+    /**
+     * @param failFast 是否开启快速结束模式，开启后出现第一个错误就停止校验，默认为false
+     * @return Builder
+     */
+    public Builder failFast(boolean failFast) {
+      this.failFast = failFast;
+      return this;
+    }
+
+    /**
+     * @param messageInterpolator 错误信息的解析器，默认使用Hibernate的实现，classpath中没有javax.el时使用
+     * CachedMessageInterpolator
+     * @return Builder
+     */
+    public Builder messageInterpolator(MessageInterpolator messageInterpolator) {
+      this.messageInterpolator = messageInterpolator;
+      return this;
+    }
+
+    /**
+     * @param clockProvider {@code @Past}、{@code @Future}等约束使用的时钟，默认使用系统时钟
+     * @return Builder
+     */
+    public Builder clockProvider(ClockProvider clockProvider) {
+      this.clockProvider = clockProvider;
+      return this;
+    }
+
+    /**
+     * @param compileBeans 是否把只有简单约束的JAVA BEAN编译为Rule校验，默认为true.
+     * 设置了CachedMessageInterpolator以外的messageInterpolator时不会编译
+     * @return Builder
+     */
+    public Builder compileBeans(boolean compileBeans) {
+      this.compileBeans = compileBeans;
+      return this;
+    }
+
+    public ValidatorOptions build() {
+      return new ValidatorOptions(this);
+    }
+  }
+}
@@ -67,6 +67,16 @@ class AlphaRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return AlphaRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
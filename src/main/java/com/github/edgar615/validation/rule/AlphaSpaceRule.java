@@ -67,6 +67,16 @@ class AlphaSpaceRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return AlphaSpaceRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
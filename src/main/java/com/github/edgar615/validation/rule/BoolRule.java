@@ -17,8 +17,6 @@ package com.github.edgar615.validation.rule;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 校验是否是bool.
@@ -31,10 +29,8 @@ class BoolRule implements Rule {
 
   private static final String KEY = "bool";
   private static final String TRUE = "true";
-  /**
-   * 正则表达式
-   */
-  private final String regex = "(true)|(false)";
+
+  private static final String FALSE = "false";
 
   private BoolRule() {
   }
@@ -56,18 +52,8 @@ class BoolRule implements Rule {
     if (property instanceof Boolean) {
       return true;
     }
-    if (property != null && (property instanceof String)) {
-      String str = String.class.cast(property);
-      Pattern pattern = Pattern.compile(regex);
-      Matcher matcher = pattern.matcher(str);
-      if (matcher.matches()) {
-        try {
-          Boolean.parseBoolean(str);
-          return true;
-        } catch (Exception e) {
-          return false;
-        }
-      }
+    if (property instanceof String) {
+      return TRUE.equals(property) || FALSE.equals(property);
     }
     return false;
   }
@@ -80,6 +66,16 @@ class BoolRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return BoolRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
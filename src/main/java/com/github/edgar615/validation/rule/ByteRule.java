@@ -65,12 +65,8 @@ class ByteRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Short.parseShort(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      // 字符串按short的范围校验，和之前使用Short.parseShort的行为保持一致
+      return NumberScanner.isInteger(str, Short.MIN_VALUE, Short.MAX_VALUE);
     }
     return false;
   }
@@ -83,6 +79,16 @@ class ByteRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return ByteRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
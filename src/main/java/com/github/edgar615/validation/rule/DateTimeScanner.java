@@ -0,0 +1,225 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+/**
+ * 不使用正则表达式的日期、时间校验.
+ * <p>
+ * 一次扫描同时校验格式和日历，例如2019-02-31、2019-13-01是非法的日期，扫描过程中不会创建任何对象.
+ * 合法时返回解析出的值，调用方不需要再次解析字符串：
+ * <pre>
+ *   long epochDay = DateTimeScanner.parseDate("2019-02-28");
+ *   if (epochDay != DateTimeScanner.INVALID) {
+ *     LocalDate date = LocalDate.ofEpochDay(epochDay);
+ *   }
+ * </pre>
+ * 日期的格式是<code>yyyy-M-d</code>，年份必须是4位数字，月和日可以是1位或者2位数字；
+ * 时间的格式是<code>HH:mm:ss</code>，每一部分都必须是2位数字.
+ *
+ * @author Edgar
+ */
+public final class DateTimeScanner {
+
+  /**
+   * 字符串不合法时的返回值
+   */
+  public static final long INVALID = Long.MIN_VALUE;
+
+  private static final int SECONDS_PER_DAY = 86400;
+
+  /**
+   * 0000-01-01到1970-01-01的天数
+   */
+  private static final long DAYS_0000_TO_1970 = 719528L;
+
+  private DateTimeScanner() {
+    throw new AssertionError("Not instantiable: " + DateTimeScanner.class);
+  }
+
+  /**
+   * 解析<code>yyyy-M-d</code>格式的日期.
+   *
+   * @param str 字符串
+   * @return 从1970-01-01开始的天数，和LocalDate.toEpochDay()相同，不合法时返回INVALID
+   */
+  public static long parseDate(String str) {
+    long date = scanDate(str, 0);
+    if (date == INVALID || end(date) != str.length()) {
+      return INVALID;
+    }
+    return epochDay(date);
+  }
+
+  /**
+   * 解析<code>HH:mm:ss</code>格式的时间.
+   *
+   * @param str 字符串
+   * @return 从00:00:00开始的秒数，不合法时返回INVALID
+   */
+  public static long parseTime(String str) {
+    if (str.length() != 8) {
+      return INVALID;
+    }
+    return scanTime(str, 0);
+  }
+
+  /**
+   * 解析<code>yyyy-M-d HH:mm:ss</code>格式的日期时间，日期和时间之间的分隔符由参数指定.
+   *
+   * @param str 字符串
+   * @param separator 日期和时间之间的分隔符，ISO 8601使用'T'
+   * @return 把日期时间当作UTC时间，从1970-01-01T00:00:00开始的秒数，不合法时返回INVALID
+   */
+  public static long parseDateTime(String str, char separator) {
+    long date = scanDate(str, 0);
+    if (date == INVALID) {
+      return INVALID;
+    }
+    int end = end(date);
+    if (str.length() != end + 9 || str.charAt(end) != separator) {
+      return INVALID;
+    }
+    long time = scanTime(str, end + 1);
+    if (time == INVALID) {
+      return INVALID;
+    }
+    return epochDay(date) * SECONDS_PER_DAY + time;
+  }
+
+  public static boolean isDate(String str) {
+    return parseDate(str) != INVALID;
+  }
+
+  public static boolean isTime(String str) {
+    return parseTime(str) != INVALID;
+  }
+
+  public static boolean isDateTime(String str, char separator) {
+    return parseDateTime(str, separator) != INVALID;
+  }
+
+  /**
+   * 扫描日期，结果按位保存：年份(14位)、月(4位)、日(5位)和日期结束的位置.
+   */
+  private static long scanDate(String str, int from) {
+    int length = str.length();
+    if (length < from + 8) {
+      return INVALID;
+    }
+    int year = 0;
+    for (int i = from; i < from + 4; i++) {
+      int digit = digit(str.charAt(i));
+      if (digit < 0) {
+        return INVALID;
+      }
+      year = year * 10 + digit;
+    }
+    int i = from + 4;
+    if (str.charAt(i++) != '-') {
+      return INVALID;
+    }
+    int month = digit(str.charAt(i++));
+    if (month < 0) {
+      return INVALID;
+    }
+    if (i < length && digit(str.charAt(i)) >= 0) {
+      month = month * 10 + digit(str.charAt(i++));
+    }
+    if (i == length || str.charAt(i++) != '-' || i == length) {
+      return INVALID;
+    }
+    int day = digit(str.charAt(i++));
+    if (day < 0) {
+      return INVALID;
+    }
+    if (i < length && digit(str.charAt(i)) >= 0) {
+      day = day * 10 + digit(str.charAt(i++));
+    }
+    if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+      return INVALID;
+    }
+    return ((long) year << 41) | ((long) month << 37) | ((long) day << 32) | i;
+  }
+
+  private static int end(long date) {
+    return (int) date;
+  }
+
+  /**
+   * 和LocalDate.toEpochDay()的算法相同.
+   */
+  private static long epochDay(long date) {
+    long year = date >>> 41;
+    int month = (int) (date >>> 37) & 0xF;
+    int day = (int) (date >>> 32) & 0x1F;
+    long total = 365 * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+    total += (367 * month - 362) / 12;
+    total += day - 1;
+    if (month > 2) {
+      total--;
+      if (!isLeapYear(year)) {
+        total--;
+      }
+    }
+    return total - DAYS_0000_TO_1970;
+  }
+
+  private static long scanTime(String str, int from) {
+    int hour = twoDigits(str, from);
+    if (hour < 0 || hour > 23 || str.charAt(from + 2) != ':') {
+      return INVALID;
+    }
+    int minute = twoDigits(str, from + 3);
+    if (minute < 0 || minute > 59 || str.charAt(from + 5) != ':') {
+      return INVALID;
+    }
+    int second = twoDigits(str, from + 6);
+    if (second < 0 || second > 59) {
+      return INVALID;
+    }
+    return hour * 3600 + minute * 60 + second;
+  }
+
+  private static int twoDigits(String str, int from) {
+    int high = digit(str.charAt(from));
+    int low = digit(str.charAt(from + 1));
+    if (high < 0 || low < 0) {
+      return -1;
+    }
+    return high * 10 + low;
+  }
+
+  private static int lengthOfMonth(int year, int month) {
+    switch (month) {
+      case 2:
+        return isLeapYear(year) ? 29 : 28;
+      case 4:
+      case 6:
+      case 9:
+      case 11:
+        return 30;
+      default:
+        return 31;
+    }
+  }
+
+  private static boolean isLeapYear(long year) {
+    return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+  }
+
+  private static int digit(char c) {
+    return c >= '0' && c <= '9' ? c - '0' : -1;
+  }
+}
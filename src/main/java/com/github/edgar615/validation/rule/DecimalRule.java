@@ -18,8 +18,6 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 只能是数字.
@@ -31,18 +29,11 @@ class DecimalRule implements Rule {
 
   private static final String KEY = "decimal";
 
-  /**
-   * 正则表达式
-   */
-  private final String regex;
-
   private final int point;
 
   private DecimalRule(int point) {
     Preconditions.checkArgument(point > 0);
     this.point = point;
-    String pointPattern = "\\d{1," + point + "}";
-    this.regex = "[1-9]\\d*\\." + pointPattern + "|0\\." + pointPattern;
   }
 
   static Rule create(int point) {
@@ -56,13 +47,17 @@ class DecimalRule implements Rule {
 
   @Override
   public boolean isValid(Object property) {
-    if (property != null) {
-      String str = property.toString();
-      Pattern pattern = Pattern.compile(this.regex);
-      Matcher matcher = pattern.matcher(str);
-      return matcher.matches();
+    if (property == null) {
+      return true;
     }
-    return true;
+    if (property instanceof String) {
+      return matches((String) property);
+    }
+    if (property instanceof Integer || property instanceof Long
+        || property instanceof Short || property instanceof Byte) {
+      return false;
+    }
+    return matches(property.toString());
   }
 
   @Override
@@ -76,8 +71,54 @@ class DecimalRule implements Rule {
     return point;
   }
 
+  /**
+   * 等价于正则表达式<code>[1-9]\d*\.\d{1,point}|0\.\d{1,point}</code>.
+   */
+  private boolean matches(CharSequence str) {
+    int len = str.length();
+    if (len == 0) {
+      return false;
+    }
+    int i = 0;
+    char first = str.charAt(i++);
+    if (first >= '1' && first <= '9') {
+      while (i < len && isDigit(str.charAt(i))) {
+        i++;
+      }
+    } else if (first != '0') {
+      return false;
+    }
+    if (i == len || str.charAt(i++) != '.') {
+      return false;
+    }
+    int fraction = len - i;
+    if (fraction < 1 || fraction > point) {
+      return false;
+    }
+    for (; i < len; i++) {
+      if (!isDigit(str.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return DecimalRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -18,8 +18,6 @@ import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * 只能包含数字.
@@ -29,11 +27,6 @@ import java.util.regex.Pattern;
  **/
 class DigitsRule implements Rule {
 
-  /**
-   * 正则表达式
-   */
-  private static final String PATTERN = "[1-9][0-9]";
-
   private static final String KEY = "digits";
 
   private final int length;
@@ -66,13 +59,18 @@ class DigitsRule implements Rule {
 
   @Override
   public boolean isValid(Object property) {
-    if (property != null) {
-      String str = property.toString();
-      Pattern pattern = Pattern.compile(pattern());
-      Matcher matcher = pattern.matcher(str);
-      return matcher.matches();
+    if (property == null) {
+      return true;
     }
-    return true;
+    if (property instanceof String) {
+      return matches((String) property);
+    }
+    if (property instanceof Integer || property instanceof Long
+        || property instanceof Short || property instanceof Byte) {
+      long longVal = ((Number) property).longValue();
+      return longVal > 0 && (length == 0 || digitCount(longVal) == length);
+    }
+    return matches(property.toString());
   }
 
   @Override
@@ -86,16 +84,48 @@ class DigitsRule implements Rule {
     return length;
   }
 
-  private String pattern() {
-    if (length == 0) {
-      return PATTERN + "*";
+  /**
+   * 等价于正则表达式<code>[1-9][0-9]*</code>，如果指定了长度，还要求长度相等.
+   */
+  private boolean matches(CharSequence str) {
+    int len = str.length();
+    if (len == 0 || (length != 0 && len != length)) {
+      return false;
+    }
+    char first = str.charAt(0);
+    if (first < '1' || first > '9') {
+      return false;
+    }
+    for (int i = 1; i < len; i++) {
+      char c = str.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int digitCount(long value) {
+    int count = 1;
+    while (value >= 10) {
+      value /= 10;
+      count++;
     }
-    int len = length - 1;
-    return PATTERN + "{" + len + "," + len + "}";
+    return count;
   }
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return DigitsRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
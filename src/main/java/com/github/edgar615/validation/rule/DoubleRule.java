@@ -68,12 +68,7 @@ class DoubleRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Double.parseDouble(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return NumberScanner.isFloatingPoint(str);
     }
     return false;
   }
@@ -86,6 +81,16 @@ class DoubleRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return DoubleRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
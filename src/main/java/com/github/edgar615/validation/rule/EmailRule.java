@@ -18,14 +18,20 @@ import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Strings;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.Lists;
 import java.net.IDN;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
  * email的校验，核心逻辑复制自hibernate validator
+ * <p>
+ * 纯ASCII的部分直接按字符校验，和IDN.toASCII之后再使用正则表达式校验的结果相同，
+ * 只有包含非ASCII字符时才使用IDN转换. 开启域名缓存后，需要IDN转换的域名的校验结果会被缓存，
+ * 缓存的最大数量默认为1024，可以通过系统属性validation.email.domain.cache.size修改.
+ * 字符串规则<code>email:cached</code>开启域名缓存.
  *
  * @author Edgar  Date 2016/7/12
  */
@@ -33,29 +39,69 @@ class EmailRule implements Rule {
 
   private static final String KEY = "email";
   private static final String TRUE = "true";
+  private static final String CACHED = "cached";
   private static String ATOM = "[a-z0-9!#$%&'*+/=?^_`{|}~-]";
   private static String DOMAIN = ATOM + "+(\\." + ATOM + "+)*";
   private static String IP_DOMAIN = "\\[[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\.[0-9]{1,3}\\]";
+
+  /**
+   * IDN中label的最大长度
+   */
+  private static final int MAX_LABEL_LENGTH = 63;
+
+  private static final int DEFAULT_DOMAIN_CACHE_SIZE = 1024;
+
+  /**
+   * ATOM中的ASCII字符
+   */
+  private static final boolean[] ATOM_CHARS = new boolean[128];
+
+  static {
+    for (char c = 'a'; c <= 'z'; c++) {
+      ATOM_CHARS[c] = true;
+      ATOM_CHARS[Character.toUpperCase(c)] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      ATOM_CHARS[c] = true;
+    }
+    for (char c : "!#$%&'*+/=?^_`{|}~-".toCharArray()) {
+      ATOM_CHARS[c] = true;
+    }
+  }
+
   /**
    * Regular expression for the local part of an email address (everything before '@')
    */
-  private final Pattern localPattern = Pattern.compile(
+  private static final Pattern LOCAL_PATTERN = Pattern.compile(
       ATOM + "+(\\." + ATOM + "+)*", CASE_INSENSITIVE
   );
 
   /**
    * Regular expression for the domain part of an email address (everything after '@')
    */
-  private final Pattern domainPattern = Pattern.compile(
+  private static final Pattern DOMAIN_PATTERN = Pattern.compile(
       DOMAIN + "|" + IP_DOMAIN, CASE_INSENSITIVE
   );
 
+  /**
+   * 需要IDN转换的域名的校验结果
+   */
+  private static final Cache<String, Boolean> DOMAINS = CacheBuilder.newBuilder()
+      .maximumSize(Long.getLong("validation.email.domain.cache.size", DEFAULT_DOMAIN_CACHE_SIZE))
+      .build();
 
-  private EmailRule() {
+  private final boolean cacheDomain;
+
+  private EmailRule(boolean cacheDomain) {
+    this.cacheDomain = cacheDomain;
   }
 
   static Rule create() {
-    return new EmailRule();
+    return new EmailRule(false);
+  }
+
+  static Rule create(boolean cacheDomain) {
+    return new EmailRule(cacheDomain);
   }
 
 
@@ -72,14 +118,9 @@ class EmailRule implements Rule {
       if (Strings.isNullOrEmpty(str)) {
         return true;
       }
-      // split email at '@' and consider local and domain part separately;
-      // note a split limit of 3 is used as it causes all characters following to an (illegal)
-      // second @ character to
-      // be put into a separate array element, avoiding the regex application in this case since
-      // the resulting array
-      // has more than 2 elements
-      String[] emailParts = str.toString().split("@", 3);
-      if (emailParts.length != 2) {
+      // 只能有一个@，和split("@", 3)的结果长度为2相同
+      int at = str.indexOf('@');
+      if (at < 0 || str.indexOf('@', at + 1) >= 0) {
         return false;
       }
 
@@ -87,15 +128,23 @@ class EmailRule implements Rule {
       // the regular expression match would take care of this, but IDN.toASCII drops trailing the
       // trailing '.'
       // (imo a bug in the implementation)
-      if (emailParts[0].endsWith(".") || emailParts[1].endsWith(".")) {
+      if ((at > 0 && str.charAt(at - 1) == '.') || str.charAt(str.length() - 1) == '.') {
         return false;
       }
 
-      if (!matchPart(emailParts[0], localPattern)) {
+      if (isAscii(str, 0, at)) {
+        if (!matchDotAtoms(str, 0, at)) {
+          return false;
+        }
+      } else if (!matchPart(str.substring(0, at), LOCAL_PATTERN)) {
         return false;
       }
 
-      return matchPart(emailParts[1], domainPattern);
+      if (isAscii(str, at + 1, str.length())) {
+        return matchDotAtoms(str, at + 1, str.length())
+            || matchIpDomain(str, at + 1, str.length());
+      }
+      return matchDomain(str.substring(at + 1));
     }
     return true;
 
@@ -104,10 +153,23 @@ class EmailRule implements Rule {
   @Override
   public String toString() {
     return MoreObjects.toStringHelper("EmailRule")
+        .add("cacheDomain", cacheDomain)
         .toString();
   }
 
-  private boolean matchPart(String part, Pattern pattern) {
+  private boolean matchDomain(String domain) {
+    if (!cacheDomain) {
+      return matchPart(domain, DOMAIN_PATTERN);
+    }
+    Boolean valid = DOMAINS.getIfPresent(domain);
+    if (valid == null) {
+      valid = matchPart(domain, DOMAIN_PATTERN);
+      DOMAINS.put(domain, valid);
+    }
+    return valid;
+  }
+
+  private static boolean matchPart(String part, Pattern pattern) {
     try {
       part = IDN.toASCII(part);
     } catch (IllegalArgumentException e) {
@@ -116,12 +178,78 @@ class EmailRule implements Rule {
       // practically that should not be a problem)
       return false;
     }
-    Matcher matcher = pattern.matcher(part);
-    return matcher.matches();
+    return pattern.matcher(part).matches();
+  }
+
+  private static boolean isAscii(String str, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (str.charAt(i) >= 128) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * ATOM+(\.ATOM+)*，每一段的长度不能超过IDN的限制.
+   */
+  private static boolean matchDotAtoms(String str, int from, int to) {
+    int label = 0;
+    for (int i = from; i < to; i++) {
+      char c = str.charAt(i);
+      if (c == '.') {
+        if (label == 0) {
+          return false;
+        }
+        label = 0;
+      } else if (ATOM_CHARS[c]) {
+        if (++label > MAX_LABEL_LENGTH) {
+          return false;
+        }
+      } else {
+        return false;
+      }
+    }
+    return label > 0;
+  }
+
+  /**
+   * \[[0-9]{1,3}\.[0-9]{1,3}\.[0-9]{1,3}\.[0-9]{1,3}\]
+   */
+  private static boolean matchIpDomain(String str, int from, int to) {
+    if (to - from < 9 || str.charAt(from) != '[' || str.charAt(to - 1) != ']') {
+      return false;
+    }
+    int groups = 0;
+    int digits = 0;
+    for (int i = from + 1; i < to - 1; i++) {
+      char c = str.charAt(i);
+      if (c >= '0' && c <= '9') {
+        if (++digits > 3) {
+          return false;
+        }
+      } else if (c == '.' && digits > 0 && groups < 3) {
+        groups++;
+        digits = 0;
+      } else {
+        return false;
+      }
+    }
+    return groups == 3 && digits > 0;
   }
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return EmailRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -129,10 +257,13 @@ class EmailRule implements Rule {
         return null;
       }
       if (keyAndValue.size() == 1) {
-        return new EmailRule();
+        return new EmailRule(false);
       }
       if (TRUE.equalsIgnoreCase(keyAndValue.get(1))) {
-        return new EmailRule();
+        return new EmailRule(false);
+      }
+      if (CACHED.equalsIgnoreCase(keyAndValue.get(1))) {
+        return new EmailRule(true);
       }
       return null;
     }
@@ -140,7 +271,8 @@ class EmailRule implements Rule {
     @Override
     public List<String> toParsableString(Rule rule) {
       if (rule instanceof EmailRule) {
-        return Lists.newArrayList(KEY);
+        return ((EmailRule) rule).cacheDomain ? Lists.newArrayList(KEY, CACHED)
+            : Lists.newArrayList(KEY);
       }
       return Lists.newArrayList();
     }
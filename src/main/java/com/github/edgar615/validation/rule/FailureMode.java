@@ -0,0 +1,38 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+/**
+ * 出现校验错误之后的处理方式.
+ *
+ * @author Edgar
+ */
+public enum FailureMode {
+
+  /**
+   * 校验所有属性的所有规则
+   */
+  ALL,
+
+  /**
+   * 出现第一个错误后停止校验
+   */
+  FIRST_ERROR,
+
+  /**
+   * 每个属性出现第一个错误后停止校验这个属性的剩余规则，继续校验下一个属性
+   */
+  FIRST_ERROR_PER_FIELD
+}
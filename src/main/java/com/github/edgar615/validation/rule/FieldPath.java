@@ -0,0 +1,261 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.github.edgar615.validation.ValidationResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+/**
+ * 编译后的属性路径，例如<code>profile.age</code>、<code>items[*].sku</code>.
+ * <p>
+ * 路径由第一层的属性名和之后的步骤组成，每个步骤是一个属性名或者一个下标，<code>[*]</code>表示List中的每一个元素.
+ * 校验时沿路径直接读取嵌套的Map、List或JAVA BEAN，不会复制任何集合. 中间的值为null或者类型不匹配时，
+ * 按null校验；<code>[*]</code>对应的值不是List或者List为空时，不校验任何元素.
+ * <p>
+ * 错误信息中的属性名使用实际的下标，例如<code>items[3].sku</code>.
+ *
+ * @author Edgar
+ */
+final class FieldPath {
+
+  private static final int WILDCARD = -1;
+
+  private static final int[] NO_INDICES = new int[0];
+
+  private final String field;
+
+  private final String root;
+
+  /**
+   * 每个步骤的属性名，下标步骤对应null
+   */
+  private final String[] names;
+
+  /**
+   * 每个步骤的下标，WILDCARD表示所有元素
+   */
+  private final int[] indexes;
+
+  private final int wildcards;
+
+  private FieldPath(String field, String root, List<String> names, List<Integer> indexes) {
+    this.field = field;
+    this.root = root;
+    this.names = names.toArray(new String[0]);
+    this.indexes = new int[indexes.size()];
+    int wildcards = 0;
+    for (int i = 0; i < this.indexes.length; i++) {
+      this.indexes[i] = indexes.get(i);
+      if (this.names[i] == null && this.indexes[i] == WILDCARD) {
+        wildcards++;
+      }
+    }
+    this.wildcards = wildcards;
+  }
+
+  /**
+   * 编译属性路径.
+   *
+   * @param field 属性名
+   * @return 属性路径，如果属性名中没有<code>.</code>和<code>[</code>或者不是合法的路径，返回null
+   */
+  static FieldPath compile(String field) {
+    if (field.indexOf('.') < 0 && field.indexOf('[') < 0) {
+      return null;
+    }
+    List<String> names = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    int end = nameEnd(field, 0);
+    if (end == 0) {
+      return null;
+    }
+    String root = field.substring(0, end);
+    int i = end;
+    while (true) {
+      while (i < field.length() && field.charAt(i) == '[') {
+        int close = field.indexOf(']', i);
+        if (close < 0) {
+          return null;
+        }
+        int index = index(field.substring(i + 1, close));
+        if (index == Integer.MIN_VALUE) {
+          return null;
+        }
+        names.add(null);
+        indexes.add(index);
+        i = close + 1;
+      }
+      if (i == field.length()) {
+        return new FieldPath(field, root, names, indexes);
+      }
+      if (field.charAt(i) != '.') {
+        return null;
+      }
+      end = nameEnd(field, i + 1);
+      if (end == i + 1) {
+        return null;
+      }
+      names.add(field.substring(i + 1, end));
+      indexes.add(0);
+      i = end;
+    }
+  }
+
+  private static int nameEnd(String field, int from) {
+    int i = from;
+    while (i < field.length()) {
+      char c = field.charAt(i);
+      if (c == '.' || c == '[' || c == ']') {
+        break;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  /**
+   * @return 下标，<code>*</code>返回WILDCARD，不合法时返回Integer.MIN_VALUE
+   */
+  private static int index(String index) {
+    if ("*".equals(index)) {
+      return WILDCARD;
+    }
+    if (index.isEmpty() || index.length() > 9) {
+      return Integer.MIN_VALUE;
+    }
+    for (int i = 0; i < index.length(); i++) {
+      if (index.charAt(i) < '0' || index.charAt(i) > '9') {
+        return Integer.MIN_VALUE;
+      }
+    }
+    return Integer.parseInt(index);
+  }
+
+  /**
+   * @return 第一层的属性名
+   */
+  String root() {
+    return root;
+  }
+
+  /**
+   * 沿路径读取值并校验.
+   *
+   * @param ruleSet 校验规则
+   * @param index 属性在ruleSet中的下标
+   * @param value 第一层属性的值
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象
+   */
+  ValidationResult check(RuleSet ruleSet, int index, Object value, ValidationResult result) {
+    int[] indices = wildcards == 0 ? NO_INDICES : new int[wildcards];
+    return walk(0, value, indices, 0, ruleSet, index, result);
+  }
+
+  private ValidationResult walk(int step, Object current, int[] indices, int wildcard,
+      RuleSet ruleSet, int index, ValidationResult result) {
+    for (; step < names.length; step++) {
+      if (names[step] != null) {
+        current = property(current, names[step]);
+      } else if (indexes[step] != WILDCARD) {
+        current = element(current, indexes[step]);
+      } else {
+        if (!(current instanceof List)) {
+          return result;
+        }
+        List<?> list = (List<?>) current;
+        if (list instanceof RandomAccess) {
+          for (int i = 0; i < list.size(); i++) {
+            indices[wildcard] = i;
+            result = walk(step + 1, list.get(i), indices, wildcard + 1, ruleSet, index, result);
+            if (Validations.limitReached(ruleSet, result)) {
+              return result;
+            }
+          }
+        } else {
+          int i = 0;
+          for (Iterator<?> iterator = list.iterator(); iterator.hasNext(); i++) {
+            indices[wildcard] = i;
+            result = walk(step + 1, iterator.next(), indices, wildcard + 1, ruleSet, index,
+                result);
+            if (Validations.limitReached(ruleSet, result)) {
+              return result;
+            }
+          }
+        }
+        return result;
+      }
+    }
+    return Validations.checkValue(ruleSet, index, indices, current, result);
+  }
+
+  private static Object property(Object current, String name) {
+    if (current == null) {
+      return null;
+    }
+    if (current instanceof Map) {
+      return ((Map<?, ?>) current).get(name);
+    }
+    if (current instanceof CharSequence || current instanceof Number
+        || current instanceof Boolean || current instanceof Character
+        || current instanceof Collection) {
+      return null;
+    }
+    Function<Object, Object> getter = PropertyAccessors.of(current.getClass()).getter(name);
+    return getter == null ? null : getter.apply(current);
+  }
+
+  private static Object element(Object current, int index) {
+    if (!(current instanceof List)) {
+      return null;
+    }
+    List<?> list = (List<?>) current;
+    return index < list.size() ? list.get(index) : null;
+  }
+
+  /**
+   * 使用实际的下标生成属性名.
+   *
+   * @param indices 每个<code>[*]</code>对应的下标
+   * @return 属性名
+   */
+  String render(int[] indices) {
+    if (wildcards == 0) {
+      return field;
+    }
+    StringBuilder builder = new StringBuilder(field.length() + 8).append(root);
+    int wildcard = 0;
+    for (int i = 0; i < names.length; i++) {
+      if (names[i] != null) {
+        builder.append('.').append(names[i]);
+      } else {
+        int index = indexes[i] == WILDCARD ? indices[wildcard++] : indexes[i];
+        builder.append('[').append(index).append(']');
+      }
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public String toString() {
+    return field;
+  }
+}
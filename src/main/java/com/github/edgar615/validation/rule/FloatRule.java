@@ -90,12 +90,7 @@ class FloatRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Float.parseFloat(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return NumberScanner.isFloatingPoint(str);
     }
     return false;
   }
@@ -108,6 +103,16 @@ class FloatRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return FloatRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
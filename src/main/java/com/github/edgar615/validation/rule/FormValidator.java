@@ -0,0 +1,224 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.github.edgar615.validation.ValidationResult;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 校验application/x-www-form-urlencoded格式的查询字符串或者表单.
+ * <p>
+ * 和校验Multimap的语义相同：同一个属性的每个值都使用所有的规则校验，没有出现的属性只校验required规则，并且只校验一次.
+ * 属性名按字面和RuleSet匹配，不解析路径. 只有存在校验规则的属性的值才会被解码，解码时'+'转换为空格，
+ * <code>%XX</code>按UTF-8解码. 属性名的百分号编码不合法时按没有规则的属性跳过.
+ * <p>
+ * 错误的顺序和值在表单中出现的顺序一致，没有出现的属性的错误在最后.
+ *
+ * @author Edgar
+ */
+final class FormValidator {
+
+  private final byte[] form;
+
+  private final RuleSet ruleSet;
+
+  private ValidationResult result;
+
+  /**
+   * 属性数量不超过64时，用来记录属性是否出现、是否已经校验失败的位图
+   */
+  private long seenBits;
+
+  private long failedBits;
+
+  private final boolean[] seen;
+
+  private final boolean[] failed;
+
+  private FormValidator(byte[] form, RuleSet ruleSet, ValidationResult result) {
+    this.form = form;
+    this.ruleSet = ruleSet;
+    this.result = result;
+    boolean large = ruleSet.size() > Long.SIZE;
+    this.seen = large ? new boolean[ruleSet.size()] : null;
+    this.failed = large ? new boolean[ruleSet.size()] : null;
+  }
+
+  /**
+   * 校验表单.
+   *
+   * @param form 表单的字节
+   * @param ruleSet 校验规则
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   * @throws IllegalArgumentException 表单中有不合法的百分号编码
+   */
+  static ValidationResult check(byte[] form, RuleSet ruleSet, ValidationResult result) {
+    return new FormValidator(form, ruleSet, result).check();
+  }
+
+  private ValidationResult check() {
+    int pos = 0;
+    while (pos <= form.length) {
+      int end = indexOf('&', pos, form.length);
+      if (end > pos) {
+        int eq = indexOf('=', pos, end);
+        int index = fieldIndexOf(pos, eq);
+        if (index >= 0) {
+          setSeen(index);
+          if (!isFailed(index) && checkValue(index, eq < end ? eq + 1 : end, end)) {
+            return result;
+          }
+        }
+      }
+      pos = end + 1;
+    }
+    for (int i = 0; i < ruleSet.size(); i++) {
+      if (!isSeen(i) && checkMissing(i)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return 错误的数量达到限制时返回true
+   */
+  private boolean checkValue(int index, int from, int to) {
+    String value = decode(from, to);
+    String field = ruleSet.field(index);
+    for (Rule rule : ruleSet.rules(index)) {
+      if (!rule.isValid(value)) {
+        result = addError(field, rule);
+        if (Validations.limitReached(ruleSet, result)) {
+          return true;
+        }
+        if (ruleSet.failureMode() == FailureMode.FIRST_ERROR_PER_FIELD) {
+          setFailed(index);
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 没有出现的属性只校验required规则.
+   *
+   * @return 错误的数量达到限制时返回true
+   */
+  private boolean checkMissing(int index) {
+    for (Rule rule : ruleSet.rules(index)) {
+      if (rule instanceof RequiredRule) {
+        result = addError(ruleSet.field(index), rule);
+        return Validations.limitReached(ruleSet, result);
+      }
+    }
+    return false;
+  }
+
+  private ValidationResult addError(String field, Rule rule) {
+    if (result == null) {
+      result = new ValidationResult();
+    }
+    return result.addError(field, rule.message());
+  }
+
+  /**
+   * @return 属性的下标，没有规则或者属性名的百分号编码不合法时返回-1
+   */
+  private int fieldIndexOf(int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (form[i] == '%' || form[i] == '+') {
+        try {
+          return ruleSet.fieldIndexOf(decode(from, to));
+        } catch (IllegalArgumentException e) {
+          // 不合法的属性名不会有规则，和没有规则的属性一样跳过
+          return -1;
+        }
+      }
+    }
+    return ruleSet.fieldIndexOf(form, from, to);
+  }
+
+  /**
+   * 解码百分号编码的字符串.
+   */
+  private String decode(int from, int to) {
+    int i = from;
+    while (i < to && form[i] != '%' && form[i] != '+') {
+      i++;
+    }
+    if (i == to) {
+      return new String(form, from, to - from, StandardCharsets.UTF_8);
+    }
+    byte[] bytes = new byte[to - from];
+    int length = i - from;
+    System.arraycopy(form, from, bytes, 0, length);
+    while (i < to) {
+      byte b = form[i];
+      if (b == '+') {
+        bytes[length++] = ' ';
+        i++;
+      } else if (b == '%') {
+        int high = i + 2 < to ? Character.digit(form[i + 1], 16) : -1;
+        int low = high < 0 ? -1 : Character.digit(form[i + 2], 16);
+        if (low < 0) {
+          throw new IllegalArgumentException(
+              "Malformed form at position " + i + ": illegal percent encoding");
+        }
+        bytes[length++] = (byte) ((high << 4) + low);
+        i += 3;
+      } else {
+        bytes[length++] = b;
+        i++;
+      }
+    }
+    return new String(bytes, 0, length, StandardCharsets.UTF_8);
+  }
+
+  private int indexOf(char c, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (form[i] == c) {
+        return i;
+      }
+    }
+    return to;
+  }
+
+  private void setSeen(int index) {
+    if (seen == null) {
+      seenBits |= 1L << index;
+    } else {
+      seen[index] = true;
+    }
+  }
+
+  private boolean isSeen(int index) {
+    return seen == null ? (seenBits & (1L << index)) != 0 : seen[index];
+  }
+
+  private void setFailed(int index) {
+    if (failed == null) {
+      failedBits |= 1L << index;
+    } else {
+      failed[index] = true;
+    }
+  }
+
+  private boolean isFailed(int index) {
+    return failed == null ? (failedBits & (1L << index)) != 0 : failed[index];
+  }
+}
@@ -17,26 +17,16 @@ package com.github.edgar615.validation.rule;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * ISO 8601的日期格式.
  * <p>
- * 只校验String类型的值，其他类型默认为非法.
+ * 只校验String类型的值，其他类型默认为非法. 日期必须是日历上存在的日期，例如2019-02-29是非法的.
  *
  * @author Edgar  Date 2016/1/6
  */
 class ISO8601DateTimeRule implements Rule {
 
-  /**
-   * 正则表达式
-   */
-  private static final Pattern PATTERN = Pattern
-      .compile("\\d{4}-\\d{1,2}-\\d{1,2}T0[0-9]:[0-5][0-9]:[0-5][0-9]" +
-          "|\\d{4}-\\d{1,2}-\\d{1,2}T1[0-9]:[0-5][0-9]:[0-5][0-9]" +
-          "|\\d{4}-\\d{1,2}-\\d{1,2}T2[0-3]:[0-5][0-9]:[0-5][0-9]");
-
   private static final String KEY = "ISO8601Datetime";
 
   private static final String TRUE = "true";
@@ -57,8 +47,7 @@ class ISO8601DateTimeRule implements Rule {
   public boolean isValid(Object property) {
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      Matcher matcher = PATTERN.matcher(str);
-      return matcher.matches();
+      return DateTimeScanner.isDateTime(str, 'T');
     }
     return true;
   }
@@ -71,6 +60,16 @@ class ISO8601DateTimeRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return ISO8601DateTimeRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
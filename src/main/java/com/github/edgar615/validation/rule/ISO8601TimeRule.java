@@ -17,8 +17,6 @@ package com.github.edgar615.validation.rule;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * ISO 8601的时间格式.
@@ -29,12 +27,6 @@ import java.util.regex.Pattern;
  */
 class ISO8601TimeRule implements Rule {
 
-  /**
-   * 正则表达式
-   */
-  private static final Pattern PATTERN = Pattern.compile(
-      "0[0-9]:[0-5][0-9]:[0-5][0-9]|1[0-9]:[0-5][0-9]:[0-5][0-9]|2[0-3]:[0-5][0-9]:[0-5][0-9]");
-
   private static final String KEY = "ISO8601Time";
 
   private static final String TRUE = "true";
@@ -55,8 +47,7 @@ class ISO8601TimeRule implements Rule {
   public boolean isValid(Object property) {
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      Matcher matcher = PATTERN.matcher(str);
-      return matcher.matches();
+      return DateTimeScanner.isTime(str);
     }
     return true;
   }
@@ -69,6 +60,16 @@ class ISO8601TimeRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return ISO8601TimeRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -86,7 +87,7 @@ class ISO8601TimeRule implements Rule {
 
     @Override
     public List<String> toParsableString(Rule rule) {
-      if (rule instanceof ISO8601DateTimeRule) {
+      if (rule instanceof ISO8601TimeRule) {
         return Lists.newArrayList(KEY);
       }
       return Lists.newArrayList();
@@ -63,12 +63,7 @@ class IntRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Integer.parseInt(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return NumberScanner.isInteger(str, Integer.MIN_VALUE, Integer.MAX_VALUE);
     }
     return false;
   }
@@ -81,6 +76,16 @@ class IntRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return IntRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -0,0 +1,562 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.github.edgar615.validation.ValidationResult;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式校验JSON.
+ * <p>
+ * 按顺序读取JSON对象的第一层属性，属性名直接用UTF-8字节和RuleSet匹配，路径按第一层的属性名匹配.
+ * 有规则的属性的值被转换为和JSON解析器相同的类型：
+ * String、Integer、Long、BigInteger、Double、Boolean、Map、List或null，然后立即校验；没有规则的属性只检查语法，不创建任何对象.
+ * 读完之后，JSON中没有出现的属性按null校验.
+ * <p>
+ * 和校验Map一样，和路径完全相同的键（例如<code>a.b</code>）按普通属性校验，这个路径不再沿第一层属性读取.
+ * 如果这个键出现在第一层属性之后，第一层属性中的值已经按路径校验过.
+ * <p>
+ * 错误的顺序和属性在JSON中出现的顺序一致. 错误的数量达到RuleSet的限制之后停止读取，剩余的内容不再检查语法.
+ *
+ * @author Edgar
+ */
+final class JsonValidator {
+
+  /**
+   * 允许嵌套的最大层数
+   */
+  private static final int MAX_DEPTH = 512;
+
+  private final byte[] json;
+
+  private final RuleSet ruleSet;
+
+  private ValidationResult result;
+
+  private int pos;
+
+  /**
+   * readKey读到和路径完全相同的键时，保存属性的下标，否则为-1
+   */
+  private int literalField = -1;
+
+  /**
+   * 按字面出现过的路径属性，第一次出现时才创建
+   */
+  private boolean[] literalSeen;
+
+  private JsonValidator(byte[] json, RuleSet ruleSet, ValidationResult result) {
+    this.json = json;
+    this.ruleSet = ruleSet;
+    this.result = result;
+  }
+
+  /**
+   * 校验JSON对象.
+   *
+   * @param json UTF-8编码的JSON
+   * @param ruleSet 校验规则
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   * @throws IllegalArgumentException JSON的格式不正确，或者不是JSON对象
+   */
+  static ValidationResult check(byte[] json, RuleSet ruleSet, ValidationResult result) {
+    return new JsonValidator(json, ruleSet, result).check();
+  }
+
+  private ValidationResult check() {
+    int size = ruleSet.rootCount();
+    long seenBits = 0;
+    boolean[] seen = size > Long.SIZE ? new boolean[size] : null;
+    skipWhitespace();
+    expect('{');
+    skipWhitespace();
+    if (peek() != '}') {
+      while (true) {
+        int index = readKey();
+        skipWhitespace();
+        expect(':');
+        skipWhitespace();
+        if (literalField >= 0) {
+          if (checkLiteral(literalField, readValue(1))) {
+            return result;
+          }
+        } else if (index < 0) {
+          skipValue(1);
+        } else {
+          if (seen == null) {
+            seenBits |= 1L << index;
+          } else {
+            seen[index] = true;
+          }
+          if (check(index, readValue(1))) {
+            return result;
+          }
+        }
+        skipWhitespace();
+        if (peek() == ',') {
+          pos++;
+          skipWhitespace();
+          continue;
+        }
+        break;
+      }
+    }
+    expect('}');
+    skipWhitespace();
+    if (pos < json.length) {
+      throw malformed("unexpected content after JSON object");
+    }
+    for (int i = 0; i < size; i++) {
+      boolean found = seen == null ? (seenBits & (1L << i)) != 0 : seen[i];
+      if (!found && check(i, null)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 校验第一层属性对应的所有属性.
+   *
+   * @return 错误的数量达到限制时返回true
+   */
+  private boolean check(int root, Object value) {
+    for (int field : ruleSet.rootFields(root)) {
+      if (literalSeen != null && literalSeen[field]) {
+        continue;
+      }
+      result = Validations.checkField(ruleSet, field, value, result);
+      if (Validations.limitReached(ruleSet, result)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 按普通属性校验和路径完全相同的键的值，这个路径不再沿第一层属性读取.
+   *
+   * @return 错误的数量达到限制时返回true
+   */
+  private boolean checkLiteral(int field, Object value) {
+    if (literalSeen == null) {
+      literalSeen = new boolean[ruleSet.size()];
+    }
+    if (literalSeen[field]) {
+      return false;
+    }
+    literalSeen[field] = true;
+    result = Validations.checkValue(ruleSet, field, null, value, result);
+    return Validations.limitReached(ruleSet, result);
+  }
+
+  /**
+   * 读取属性名. 如果属性名和路径完全相同，例如<code>a.b</code>，把路径的下标保存在literalField中.
+   *
+   * @return 第一层属性在RuleSet中的下标，没有规则时返回-1
+   */
+  private int readKey() {
+    if (peek() != '"') {
+      throw malformed("string expected");
+    }
+    int start = ++pos;
+    boolean escaped = skipStringBody();
+    if (!escaped) {
+      literalField = literalPath(ruleSet.fieldIndexOf(json, start, pos - 1));
+      return ruleSet.rootIndexOf(json, start, pos - 1);
+    }
+    pos = start;
+    String key = readStringBody();
+    literalField = literalPath(ruleSet.fieldIndexOf(key));
+    return ruleSet.rootIndexOf(key);
+  }
+
+  /**
+   * @return field是路径时返回field，否则返回-1
+   */
+  private int literalPath(int field) {
+    return field >= 0 && ruleSet.path(field) != null ? field : -1;
+  }
+
+  private Object readValue(int depth) {
+    switch (peek()) {
+      case '"':
+        pos++;
+        return readStringBody();
+      case '{':
+        return readObject(depth + 1);
+      case '[':
+        return readArray(depth + 1);
+      case 't':
+        expectLiteral("true");
+        return Boolean.TRUE;
+      case 'f':
+        expectLiteral("false");
+        return Boolean.FALSE;
+      case 'n':
+        expectLiteral("null");
+        return null;
+      default:
+        return readNumber();
+    }
+  }
+
+  private Map<String, Object> readObject(int depth) {
+    checkDepth(depth);
+    pos++;
+    Map<String, Object> map = new LinkedHashMap<>();
+    skipWhitespace();
+    if (peek() == '}') {
+      pos++;
+      return map;
+    }
+    while (true) {
+      if (peek() != '"') {
+        throw malformed("string expected");
+      }
+      pos++;
+      String key = readStringBody();
+      skipWhitespace();
+      expect(':');
+      skipWhitespace();
+      map.put(key, readValue(depth));
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+        skipWhitespace();
+        continue;
+      }
+      expect('}');
+      return map;
+    }
+  }
+
+  private List<Object> readArray(int depth) {
+    checkDepth(depth);
+    pos++;
+    List<Object> list = new ArrayList<>();
+    skipWhitespace();
+    if (peek() == ']') {
+      pos++;
+      return list;
+    }
+    while (true) {
+      list.add(readValue(depth));
+      skipWhitespace();
+      if (peek() == ',') {
+        pos++;
+        skipWhitespace();
+        continue;
+      }
+      expect(']');
+      return list;
+    }
+  }
+
+  /**
+   * 读取数字，整数按大小返回Integer、Long或BigInteger，小数返回Double.
+   */
+  private Object readNumber() {
+    int start = pos;
+    boolean integral = skipNumber();
+    if (!integral) {
+      return Double.valueOf(new String(json, start, pos - start, StandardCharsets.ISO_8859_1));
+    }
+    int digits = pos - start - (json[start] == '-' ? 1 : 0);
+    if (digits <= 18) {
+      boolean negative = json[start] == '-';
+      long value = 0;
+      for (int i = negative ? start + 1 : start; i < pos; i++) {
+        value = value * 10 + (json[i] - '0');
+      }
+      value = negative ? -value : value;
+      if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+        return (int) value;
+      }
+      return value;
+    }
+    BigInteger value = new BigInteger(
+        new String(json, start, pos - start, StandardCharsets.ISO_8859_1));
+    return value.bitLength() < Long.SIZE ? (Object) value.longValue() : value;
+  }
+
+  /**
+   * 读取字符串的内容，pos指向开始的引号之后，读取之后指向结束的引号之后.
+   */
+  private String readStringBody() {
+    int start = pos;
+    boolean escaped = skipStringBody();
+    if (!escaped) {
+      return new String(json, start, pos - 1 - start, StandardCharsets.UTF_8);
+    }
+    StringBuilder builder = new StringBuilder(pos - start);
+    int i = start;
+    int segment = start;
+    while (json[i] != '"') {
+      if (json[i] != '\\') {
+        i++;
+        continue;
+      }
+      builder.append(new String(json, segment, i - segment, StandardCharsets.UTF_8));
+      char c = (char) json[i + 1];
+      i += 2;
+      switch (c) {
+        case 'b':
+          builder.append('\b');
+          break;
+        case 'f':
+          builder.append('\f');
+          break;
+        case 'n':
+          builder.append('\n');
+          break;
+        case 'r':
+          builder.append('\r');
+          break;
+        case 't':
+          builder.append('\t');
+          break;
+        case 'u':
+          builder.append((char) Integer.parseInt(
+              new String(json, i, 4, StandardCharsets.ISO_8859_1), 16));
+          i += 4;
+          break;
+        default:
+          builder.append(c);
+          break;
+      }
+      segment = i;
+    }
+    builder.append(new String(json, segment, i - segment, StandardCharsets.UTF_8));
+    return builder.toString();
+  }
+
+  private void skipValue(int depth) {
+    switch (peek()) {
+      case '"':
+        pos++;
+        skipStringBody();
+        return;
+      case '{':
+        checkDepth(depth + 1);
+        pos++;
+        skipWhitespace();
+        if (peek() == '}') {
+          pos++;
+          return;
+        }
+        while (true) {
+          if (peek() != '"') {
+            throw malformed("string expected");
+          }
+          pos++;
+          skipStringBody();
+          skipWhitespace();
+          expect(':');
+          skipWhitespace();
+          skipValue(depth + 1);
+          skipWhitespace();
+          if (peek() == ',') {
+            pos++;
+            skipWhitespace();
+            continue;
+          }
+          expect('}');
+          return;
+        }
+      case '[':
+        checkDepth(depth + 1);
+        pos++;
+        skipWhitespace();
+        if (peek() == ']') {
+          pos++;
+          return;
+        }
+        while (true) {
+          skipValue(depth + 1);
+          skipWhitespace();
+          if (peek() == ',') {
+            pos++;
+            skipWhitespace();
+            continue;
+          }
+          expect(']');
+          return;
+        }
+      case 't':
+        expectLiteral("true");
+        return;
+      case 'f':
+        expectLiteral("false");
+        return;
+      case 'n':
+        expectLiteral("null");
+        return;
+      default:
+        skipNumber();
+    }
+  }
+
+  /**
+   * 跳过字符串的内容，pos指向开始的引号之后，跳过之后指向结束的引号之后.
+   *
+   * @return 字符串中有转义字符时返回true
+   */
+  private boolean skipStringBody() {
+    boolean escaped = false;
+    while (true) {
+      if (pos >= json.length) {
+        throw malformed("unterminated string");
+      }
+      int b = json[pos++] & 0xff;
+      if (b == '"') {
+        return escaped;
+      }
+      if (b < 0x20) {
+        throw malformed("control character in string");
+      }
+      if (b == '\\') {
+        escaped = true;
+        if (pos >= json.length) {
+          throw malformed("unterminated string");
+        }
+        switch (json[pos++]) {
+          case '"':
+          case '\\':
+          case '/':
+          case 'b':
+          case 'f':
+          case 'n':
+          case 'r':
+          case 't':
+            break;
+          case 'u':
+            for (int i = 0; i < 4; i++) {
+              if (pos >= json.length || Character.digit(json[pos++], 16) < 0) {
+                throw malformed("illegal unicode escape");
+              }
+            }
+            break;
+          default:
+            throw malformed("illegal escape");
+        }
+      }
+    }
+  }
+
+  /**
+   * 跳过数字.
+   *
+   * @return 没有小数部分和指数部分时返回true
+   */
+  private boolean skipNumber() {
+    if (pos < json.length && json[pos] == '-') {
+      pos++;
+    }
+    if (pos >= json.length || !isDigit(json[pos])) {
+      throw malformed("unexpected character");
+    }
+    if (json[pos] == '0') {
+      pos++;
+    } else {
+      skipDigits();
+    }
+    boolean integral = true;
+    if (pos < json.length && json[pos] == '.') {
+      pos++;
+      requireDigit();
+      skipDigits();
+      integral = false;
+    }
+    if (pos < json.length && (json[pos] == 'e' || json[pos] == 'E')) {
+      pos++;
+      if (pos < json.length && (json[pos] == '+' || json[pos] == '-')) {
+        pos++;
+      }
+      requireDigit();
+      skipDigits();
+      integral = false;
+    }
+    return integral;
+  }
+
+  private void requireDigit() {
+    if (pos >= json.length || !isDigit(json[pos])) {
+      throw malformed("digit expected");
+    }
+  }
+
+  private void skipDigits() {
+    while (pos < json.length && isDigit(json[pos])) {
+      pos++;
+    }
+  }
+
+  private static boolean isDigit(byte b) {
+    return b >= '0' && b <= '9';
+  }
+
+  private void expectLiteral(String literal) {
+    if (pos + literal.length() > json.length) {
+      throw malformed("unexpected end of input");
+    }
+    for (int i = 0; i < literal.length(); i++) {
+      if (json[pos + i] != literal.charAt(i)) {
+        throw malformed("unexpected character");
+      }
+    }
+    pos += literal.length();
+  }
+
+  private void expect(char c) {
+    if (peek() != c) {
+      throw malformed("'" + c + "' expected");
+    }
+    pos++;
+  }
+
+  private int peek() {
+    if (pos >= json.length) {
+      throw malformed("unexpected end of input");
+    }
+    return json[pos];
+  }
+
+  private void skipWhitespace() {
+    while (pos < json.length) {
+      byte b = json[pos];
+      if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+        return;
+      }
+      pos++;
+    }
+  }
+
+  private void checkDepth(int depth) {
+    if (depth > MAX_DEPTH) {
+      throw malformed("nesting too deep");
+    }
+  }
+
+  private IllegalArgumentException malformed(String reason) {
+    return new IllegalArgumentException("Malformed JSON at position " + pos + ": " + reason);
+  }
+}
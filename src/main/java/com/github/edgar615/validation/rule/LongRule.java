@@ -62,12 +62,7 @@ class LongRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Long.parseLong(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return NumberScanner.isInteger(str, Long.MIN_VALUE, Long.MAX_VALUE);
     }
     return false;
   }
@@ -80,6 +75,16 @@ class LongRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return LongRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -22,7 +22,7 @@ import java.util.List;
 /**
  * 数值最大值的校验.
  * <p>
- * 只校验数值类型的值，其他类型默认为合法.
+ * 只校验整数、浮点数和字符串，其他类型默认为合法. 字符串按BigDecimal比较，不是合法的数字时不合法.
  *
  * @author Edgar  Date 2016/1/6
  */
@@ -33,13 +33,21 @@ class MaxRule implements Rule {
   /**
    * 最大值.
    */
-  private final int value;
+  private final NumericBound value;
 
-  private MaxRule(int value) {
-    this.value = value;
+  private MaxRule(BigDecimal value) {
+    this.value = NumericBound.of(value);
   }
 
   static Rule create(int value) {
+    return new MaxRule(BigDecimal.valueOf(value));
+  }
+
+  static Rule create(long value) {
+    return new MaxRule(BigDecimal.valueOf(value));
+  }
+
+  static Rule create(BigDecimal value) {
     return new MaxRule(value);
   }
 
@@ -50,32 +58,23 @@ class MaxRule implements Rule {
 
   @Override
   public boolean isValid(Object property) {
-    if (property != null && property instanceof Short) {
-      return Short.class.cast(property) <= value;
+    if (property instanceof Integer || property instanceof Long || property instanceof Short
+        || property instanceof Byte) {
+      return check(value.compare(((Number) property).longValue()));
     }
-    if (property != null && property instanceof Integer) {
-      return Integer.class.cast(property) <= value;
+    if (property instanceof Float || property instanceof Double) {
+      return check(value.compare(((Number) property).doubleValue()));
     }
-    if (property != null && property instanceof Long) {
-      return Long.class.cast(property) <= value;
-    }
-    if (property != null && property instanceof Float) {
-      return Float.class.cast(property) <= value;
-    }
-    if (property != null && property instanceof Double) {
-      return Double.class.cast(property) <= value;
-    }
-    if (property != null && (property instanceof String)) {
-      String str = String.class.cast(property);
-      try {
-        return new BigDecimal(str).compareTo(new BigDecimal(value + "")) <= 0;
-      } catch (Exception e) {
-        return false;
-      }
+    if (property instanceof String) {
+      return check(value.compare((String) property));
     }
     return true;
   }
 
+  private static boolean check(int compare) {
+    return compare != NumericBound.INCOMPARABLE && compare <= 0;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper("MaxRule")
@@ -83,12 +82,22 @@ class MaxRule implements Rule {
         .toString();
   }
 
-  int value() {
-    return value;
+  BigDecimal value() {
+    return value.value();
   }
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return MaxRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -96,7 +105,7 @@ class MaxRule implements Rule {
         return null;
       }
       if (keyAndValue.size() > 1) {
-        return new MaxRule(Integer.parseInt(keyAndValue.get(1)));
+        return new MaxRule(new BigDecimal(keyAndValue.get(1)));
       }
       return null;
     }
@@ -104,7 +113,7 @@ class MaxRule implements Rule {
     @Override
     public List<String> toParsableString(Rule rule) {
       if (rule instanceof MaxRule) {
-        return Lists.newArrayList(KEY, ((MaxRule) rule).value + "");
+        return Lists.newArrayList(KEY, ((MaxRule) rule).value().toPlainString());
       }
       return Lists.newArrayList();
     }
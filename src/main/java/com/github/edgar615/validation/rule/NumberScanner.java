@@ -0,0 +1,189 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+/**
+ * 不抛出异常的数字校验.
+ * <p>
+ * 接受的字符串和Long.parseLong、Double.parseDouble完全相同，但是不会创建NumberFormatException，
+ * 非法的输入不会比合法的输入更慢.
+ *
+ * @author Edgar
+ */
+final class NumberScanner {
+
+  private NumberScanner() {
+    throw new AssertionError("Not instantiable: " + NumberScanner.class);
+  }
+
+  /**
+   * 判断字符串是否是[min, max]范围内的十进制整数，语法和Long.parseLong(str)相同：可以有一个正负号，
+   * 数字可以是任意Unicode数字.
+   *
+   * @param str 字符串
+   * @param min 最小值
+   * @param max 最大值
+   * @return 合法返回true
+   */
+  static boolean isInteger(String str, long min, long max) {
+    int length = str.length();
+    if (length == 0) {
+      return false;
+    }
+    int i = 0;
+    boolean negative = false;
+    long limit = -Long.MAX_VALUE;
+    char first = str.charAt(0);
+    if (first == '-' || first == '+') {
+      if (length == 1) {
+        return false;
+      }
+      if (first == '-') {
+        negative = true;
+        limit = Long.MIN_VALUE;
+      }
+      i++;
+    }
+    // 和Long.parseLong一样按负数累加，避免Long.MIN_VALUE溢出
+    long multmin = limit / 10;
+    long result = 0;
+    for (; i < length; i++) {
+      int digit = Character.digit(str.charAt(i), 10);
+      if (digit < 0 || result < multmin) {
+        return false;
+      }
+      result *= 10;
+      if (result < limit + digit) {
+        return false;
+      }
+      result -= digit;
+    }
+    long value = negative ? result : -result;
+    return value >= min && value <= max;
+  }
+
+  /**
+   * 判断字符串是否是浮点数，语法和Double.parseDouble(str)、Float.parseFloat(str)相同：
+   * 忽略首尾的空白字符，支持NaN、Infinity、十六进制浮点数和一个fFdD后缀.
+   *
+   * @param str 字符串
+   * @return 合法返回true
+   */
+  static boolean isFloatingPoint(String str) {
+    int start = 0;
+    int end = str.length();
+    while (start < end && str.charAt(start) <= ' ') {
+      start++;
+    }
+    while (end > start && str.charAt(end - 1) <= ' ') {
+      end--;
+    }
+    if (start == end) {
+      return false;
+    }
+    int i = start;
+    char c = str.charAt(i);
+    if (c == '-' || c == '+') {
+      i++;
+      if (i == end) {
+        return false;
+      }
+      c = str.charAt(i);
+    }
+    if (c == 'N') {
+      return str.startsWith("NaN", i) && end - i == 3;
+    }
+    if (c == 'I') {
+      return str.startsWith("Infinity", i) && end - i == 8;
+    }
+    if (c == '0' && i + 1 < end && (str.charAt(i + 1) == 'x' || str.charAt(i + 1) == 'X')) {
+      return isHexFloatingPoint(str, i + 2, end);
+    }
+    boolean digits = false;
+    boolean point = false;
+    for (; i < end; i++) {
+      c = str.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+      } else if (c == '.') {
+        if (point) {
+          return false;
+        }
+        point = true;
+      } else {
+        break;
+      }
+    }
+    if (!digits) {
+      return false;
+    }
+    if (i < end && (c == 'e' || c == 'E')) {
+      i++;
+      if (i < end && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+        i++;
+      }
+      int exponentStart = i;
+      while (i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+        i++;
+      }
+      if (i == exponentStart) {
+        return false;
+      }
+    }
+    return i == end || (i == end - 1 && isSuffix(str.charAt(i)));
+  }
+
+  /**
+   * ((XDigit+ .?)|(XDigit* . XDigit+)) [pP] [-+]? Digit+ [fFdD]?
+   */
+  private static boolean isHexFloatingPoint(String str, int from, int end) {
+    int i = from;
+    boolean digitsBeforePoint = false;
+    boolean digitsAfterPoint = false;
+    while (i < end && Character.digit(str.charAt(i), 16) >= 0 && str.charAt(i) < 128) {
+      digitsBeforePoint = true;
+      i++;
+    }
+    if (i < end && str.charAt(i) == '.') {
+      i++;
+      while (i < end && Character.digit(str.charAt(i), 16) >= 0 && str.charAt(i) < 128) {
+        digitsAfterPoint = true;
+        i++;
+      }
+    }
+    if (!digitsBeforePoint && !digitsAfterPoint) {
+      return false;
+    }
+    if (i == end || (str.charAt(i) != 'p' && str.charAt(i) != 'P')) {
+      return false;
+    }
+    i++;
+    if (i < end && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+      i++;
+    }
+    int exponentStart = i;
+    while (i < end && str.charAt(i) >= '0' && str.charAt(i) <= '9') {
+      i++;
+    }
+    if (i == exponentStart) {
+      return false;
+    }
+    return i == end || (i == end - 1 && isSuffix(str.charAt(i)));
+  }
+
+  private static boolean isSuffix(char c) {
+    return c == 'f' || c == 'F' || c == 'd' || c == 'D';
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.google.common.base.Preconditions;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 最大值、最小值校验使用的边界值.
+ * <p>
+ * 创建时把边界值预先转换为整数、double和十进制数字串，比较整数、浮点数和不带指数的ASCII十进制字符串时不会创建任何对象，
+ * 结果和转换为BigDecimal之后比较完全相同. 只有带指数或者包含非ASCII数字的字符串才会使用BigDecimal比较.
+ *
+ * @author Edgar
+ */
+final class NumericBound {
+
+  /**
+   * 无法比较：字符串不是合法的数字，或者浮点数是NaN
+   */
+  static final int INCOMPARABLE = Integer.MIN_VALUE;
+
+  private final BigDecimal value;
+
+  private final int signum;
+
+  /**
+   * 绝对值的整数部分，没有前导0，整数部分为0时是空字符串
+   */
+  private final String integerDigits;
+
+  /**
+   * 绝对值的小数部分，没有末尾的0
+   */
+  private final String fractionDigits;
+
+  /**
+   * 和Long比较的方式：-1表示边界值小于Long.MIN_VALUE，1表示大于Long.MAX_VALUE，0表示在long的范围内
+   */
+  private final int longRange;
+
+  private final long floor;
+
+  private final boolean integral;
+
+  /**
+   * 最接近边界值的double，以及这个double和边界值的比较结果
+   */
+  private final double nearestDouble;
+
+  private final int nearestDoubleCompare;
+
+  private NumericBound(BigDecimal value) {
+    this.value = value;
+    this.signum = value.signum();
+    String plain = value.abs().stripTrailingZeros().toPlainString();
+    int point = plain.indexOf('.');
+    String integer = point < 0 ? plain : plain.substring(0, point);
+    this.integerDigits = "0".equals(integer) ? "" : integer;
+    this.fractionDigits = point < 0 ? "" : plain.substring(point + 1);
+    if (value.compareTo(BigDecimal.valueOf(Long.MIN_VALUE)) < 0) {
+      this.longRange = -1;
+    } else if (value.compareTo(BigDecimal.valueOf(Long.MAX_VALUE)) > 0) {
+      this.longRange = 1;
+    } else {
+      this.longRange = 0;
+    }
+    this.floor = longRange == 0 ? value.setScale(0, RoundingMode.FLOOR).longValueExact() : 0;
+    this.integral = fractionDigits.isEmpty();
+    this.nearestDouble = value.doubleValue();
+    this.nearestDoubleCompare = Double.isInfinite(nearestDouble)
+        ? (nearestDouble > 0 ? 1 : -1)
+        : new BigDecimal(nearestDouble).compareTo(value);
+  }
+
+  static NumericBound of(BigDecimal value) {
+    return new NumericBound(Preconditions.checkNotNull(value, "value can not be null"));
+  }
+
+  BigDecimal value() {
+    return value;
+  }
+
+  /**
+   * @return 小于、等于、大于边界值时分别返回负数、0、正数
+   */
+  int compare(long number) {
+    if (longRange != 0) {
+      return -longRange;
+    }
+    if (integral) {
+      return Long.compare(number, floor);
+    }
+    return number <= floor ? -1 : 1;
+  }
+
+  /**
+   * @return 小于、等于、大于边界值时分别返回负数、0、正数，NaN返回INCOMPARABLE
+   */
+  int compare(double number) {
+    if (Double.isNaN(number)) {
+      return INCOMPARABLE;
+    }
+    if (number != nearestDouble) {
+      return number < nearestDouble ? -1 : 1;
+    }
+    // number就是最接近边界值的double，结果等于这个double和边界值的比较结果
+    return nearestDoubleCompare;
+  }
+
+  /**
+   * 按new BigDecimal(str).compareTo(value)比较字符串.
+   *
+   * @return 小于、等于、大于边界值时分别返回负数、0、正数，不是合法的数字时返回INCOMPARABLE
+   */
+  int compare(String str) {
+    int length = str.length();
+    int i = 0;
+    boolean negative = false;
+    if (length > 0 && (str.charAt(0) == '-' || str.charAt(0) == '+')) {
+      negative = str.charAt(0) == '-';
+      i++;
+    }
+    int integerStart = i;
+    while (i < length && isDigit(str.charAt(i))) {
+      i++;
+    }
+    int integerEnd = i;
+    int fractionStart = i;
+    int fractionEnd = i;
+    if (i < length && str.charAt(i) == '.') {
+      fractionStart = ++i;
+      while (i < length && isDigit(str.charAt(i))) {
+        i++;
+      }
+      fractionEnd = i;
+    }
+    boolean digits = integerEnd > integerStart || fractionEnd > fractionStart;
+    if (i < length) {
+      char c = str.charAt(i);
+      if (c >= 128 || ((c == 'e' || c == 'E') && digits && isExponent(str, i + 1))) {
+        return compareSlow(str);
+      }
+      return INCOMPARABLE;
+    }
+    if (!digits) {
+      return INCOMPARABLE;
+    }
+    while (integerStart < integerEnd && str.charAt(integerStart) == '0') {
+      integerStart++;
+    }
+    while (fractionEnd > fractionStart && str.charAt(fractionEnd - 1) == '0') {
+      fractionEnd--;
+    }
+    int sign = integerStart == integerEnd && fractionStart == fractionEnd ? 0
+        : (negative ? -1 : 1);
+    if (sign != signum) {
+      return sign < signum ? -1 : 1;
+    }
+    if (sign == 0) {
+      return 0;
+    }
+    int magnitude = compareMagnitude(str, integerStart, integerEnd, fractionStart, fractionEnd);
+    return sign < 0 ? -magnitude : magnitude;
+  }
+
+  private int compareMagnitude(String str, int integerStart, int integerEnd, int fractionStart,
+      int fractionEnd) {
+    int integerLength = integerEnd - integerStart;
+    if (integerLength != integerDigits.length()) {
+      return integerLength < integerDigits.length() ? -1 : 1;
+    }
+    for (int i = 0; i < integerLength; i++) {
+      int diff = str.charAt(integerStart + i) - integerDigits.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    int fractionLength = fractionEnd - fractionStart;
+    int common = Math.min(fractionLength, fractionDigits.length());
+    for (int i = 0; i < common; i++) {
+      int diff = str.charAt(fractionStart + i) - fractionDigits.charAt(i);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+    return Integer.compare(fractionLength, fractionDigits.length());
+  }
+
+  private int compareSlow(String str) {
+    try {
+      return new BigDecimal(str).compareTo(value);
+    } catch (NumberFormatException e) {
+      return INCOMPARABLE;
+    }
+  }
+
+  private static boolean isExponent(String str, int from) {
+    int i = from;
+    if (i < str.length() && (str.charAt(i) == '-' || str.charAt(i) == '+')) {
+      i++;
+    }
+    if (i == str.length()) {
+      return false;
+    }
+    for (; i < str.length(); i++) {
+      if (!isDigit(str.charAt(i)) && str.charAt(i) < 128) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isDigit(char c) {
+    return c >= '0' && c <= '9';
+  }
+
+  @Override
+  public String toString() {
+    return value.toPlainString();
+  }
+}
@@ -24,6 +24,9 @@ import java.util.stream.Collectors;
 
 /**
  * 可选值的校验.
+ * <p>
+ * 属性的字符串和任意一个可选值的字符串忽略大小写相等时合法. 创建时把可选值按忽略大小写的hash放入开放寻址表，
+ * 校验时只需要计算一次hash，不会创建任何对象. 整数类型的属性直接在可选值中的整数里查找，不需要转换为字符串.
  *
  * @author Edgar  Date 2016/5/4
  */
@@ -35,8 +38,58 @@ class OptionalRule implements Rule {
 
   private final List<Object> value = new ArrayList<>();
 
+  /**
+   * 可选值的字符串，以忽略大小写的hash为下标，空位为null
+   */
+  private final String[] table;
+
+  private final int[] hashes;
+
+  /**
+   * 可选值字符串的最大长度，更长的字符串不可能忽略大小写相等
+   */
+  private final int maxLength;
+
+  /**
+   * 可以表示为整数的可选值，以hash为下标，used表示对应的位置是否有值
+   */
+  private final long[] longTable;
+
+  private final boolean[] used;
+
   private OptionalRule(List<Object> value) {
     this.value.addAll(value);
+    // 不小于4倍元素数量的2的幂，负载因子不超过1/4
+    int capacity = Integer.highestOneBit(Math.max(value.size(), 1) * 4 - 1) << 1;
+    this.table = new String[capacity];
+    this.hashes = new int[capacity];
+    this.longTable = new long[capacity];
+    this.used = new boolean[capacity];
+    int maxLength = 0;
+    for (Object obj : value) {
+      if (obj == null) {
+        continue;
+      }
+      String str = obj.toString();
+      maxLength = Math.max(maxLength, str.length());
+      int hash = foldHash(str);
+      int slot = hash & (capacity - 1);
+      while (table[slot] != null) {
+        slot = (slot + 1) & (capacity - 1);
+      }
+      table[slot] = str;
+      hashes[slot] = hash;
+      if (isCanonicalLong(str)) {
+        long longValue = Long.parseLong(str);
+        slot = longHash(longValue) & (capacity - 1);
+        while (used[slot] && longTable[slot] != longValue) {
+          slot = (slot + 1) & (capacity - 1);
+        }
+        longTable[slot] = longValue;
+        used[slot] = true;
+      }
+    }
+    this.maxLength = maxLength;
   }
 
   static Rule create(List<Object> value) {
@@ -51,10 +104,75 @@ class OptionalRule implements Rule {
 
   @Override
   public boolean isValid(Object property) {
-    if (property != null) {
-      return value.stream().anyMatch(obj -> property.toString().equalsIgnoreCase(obj.toString()));
+    if (property == null) {
+      return true;
+    }
+    if (property instanceof Integer || property instanceof Long || property instanceof Short
+        || property instanceof Byte) {
+      return containsLong(((Number) property).longValue());
+    }
+    String str = property.toString();
+    if (str.length() > maxLength) {
+      return false;
+    }
+    int hash = foldHash(str);
+    int mask = table.length - 1;
+    for (int slot = hash & mask; table[slot] != null; slot = (slot + 1) & mask) {
+      if (hashes[slot] == hash && str.equalsIgnoreCase(table[slot])) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean containsLong(long longValue) {
+    int mask = longTable.length - 1;
+    for (int slot = longHash(longValue) & mask; used[slot]; slot = (slot + 1) & mask) {
+      if (longTable[slot] == longValue) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * 忽略大小写的hash，equalsIgnoreCase相等的字符串的hash一定相等.
+   */
+  private static int foldHash(String str) {
+    int hash = 0;
+    for (int i = 0; i < str.length(); ) {
+      int codePoint = str.codePointAt(i);
+      hash = 31 * hash + Character.toLowerCase(Character.toUpperCase(codePoint));
+      i += Character.charCount(codePoint);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int longHash(long value) {
+    int hash = (int) (value ^ (value >>> 32));
+    return hash ^ (hash >>> 16);
+  }
+
+  /**
+   * @return 字符串和Long.toString的结果相同时返回true
+   */
+  private static boolean isCanonicalLong(String str) {
+    int start = str.startsWith("-") ? 1 : 0;
+    if (str.length() == start || str.length() - start > 19
+        || (str.charAt(start) == '0' && (str.length() > 1))) {
+      return false;
+    }
+    for (int i = start; i < str.length(); i++) {
+      if (str.charAt(i) < '0' || str.charAt(i) > '9') {
+        return false;
+      }
+    }
+    try {
+      Long.parseLong(str);
+      return true;
+    } catch (NumberFormatException e) {
+      return false;
     }
-    return true;
   }
 
   @Override
@@ -70,6 +188,16 @@ class OptionalRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return OptionalRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -0,0 +1,125 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * 正则表达式的缓存.
+ * <p>
+ * 相同的正则表达式和flags在整个进程中只编译一次，Pattern是线程安全的，可以被所有的规则共享.
+ * 缓存的最大数量默认为1024，可以通过系统属性validation.pattern.cache.size修改.
+ *
+ * @author Edgar
+ */
+public final class PatternCache {
+
+  private static final int DEFAULT_CACHE_SIZE = 1024;
+
+  private static final Cache<Key, Pattern> PATTERNS = CacheBuilder.newBuilder()
+      .maximumSize(Integer.getInteger("validation.pattern.cache.size", DEFAULT_CACHE_SIZE))
+      .recordStats()
+      .build();
+
+  private PatternCache() {
+    throw new AssertionError("Not instantiable: " + PatternCache.class);
+  }
+
+  /**
+   * 返回编译后的正则表达式.
+   *
+   * @param regex 正则表达式
+   * @return Pattern
+   */
+  public static Pattern intern(String regex) {
+    return intern(regex, 0);
+  }
+
+  /**
+   * 返回编译后的正则表达式.
+   *
+   * @param regex 正则表达式
+   * @param flags 参考{@link Pattern#compile(String, int)}
+   * @return Pattern
+   */
+  public static Pattern intern(String regex, int flags) {
+    Preconditions.checkNotNull(regex, "regex can not be null");
+    try {
+      return PATTERNS.get(new Key(regex, flags), () -> Pattern.compile(regex, flags));
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * @return 缓存的统计信息，包括命中、未命中和淘汰的次数
+   */
+  public static CacheStats stats() {
+    return PATTERNS.stats();
+  }
+
+  /**
+   * @return 缓存的命中率
+   */
+  public static double hitRate() {
+    return PATTERNS.stats().hitRate();
+  }
+
+  /**
+   * @return 缓存的Pattern数量
+   */
+  public static long size() {
+    return PATTERNS.size();
+  }
+
+  private static final class Key {
+
+    private final String regex;
+
+    private final int flags;
+
+    private Key(String regex, int flags) {
+      this.regex = regex;
+      this.flags = flags;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof Key)) {
+        return false;
+      }
+      Key key = (Key) o;
+      return flags == key.flags && regex.equals(key.regex);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regex, flags);
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.google.common.base.Throwables;
+import com.google.common.collect.ImmutableMap;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Function;
+
+/**
+ * JAVA BEAN属性的读取方法.
+ * <p>
+ * 每个类只通过Introspector解析一次getter，结果保存在ClassValue中. 如果getter是公共方法并且可以从当前的类加载器访问，
+ * 使用LambdaMetafactory生成Function，否则使用MethodHandle读取属性.
+ *
+ * @author Edgar
+ */
+final class PropertyAccessors {
+
+  private static final ClassValue<PropertyAccessors> ACCESSORS
+      = new ClassValue<PropertyAccessors>() {
+    @Override
+    protected PropertyAccessors computeValue(Class<?> type) {
+      return new PropertyAccessors(type);
+    }
+  };
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+  private final ImmutableMap<String, Function<Object, Object>> getters;
+
+  private PropertyAccessors(Class<?> type) {
+    ImmutableMap.Builder<String, Function<Object, Object>> builder = ImmutableMap.builder();
+    try {
+      for (PropertyDescriptor descriptor : Introspector.getBeanInfo(type, Object.class)
+          .getPropertyDescriptors()) {
+        Method method = descriptor.getReadMethod();
+        if (method != null) {
+          builder.put(descriptor.getName(), getter(method));
+        }
+      }
+    } catch (IntrospectionException e) {
+      throw new IllegalStateException(e);
+    }
+    this.getters = builder.build();
+  }
+
+  /**
+   * @param type 类
+   * @return 类的属性读取方法
+   */
+  static PropertyAccessors of(Class<?> type) {
+    return ACCESSORS.get(type);
+  }
+
+  /**
+   * @param property 属性名
+   * @return 属性的读取方法，如果属性不存在或者没有getter，返回null
+   */
+  Function<Object, Object> getter(String property) {
+    return getters.get(property);
+  }
+
+  private static Function<Object, Object> getter(Method method) {
+    try {
+      if (canSpin(method)) {
+        return spin(method);
+      }
+      method.setAccessible(true);
+      MethodHandle handle = MethodHandles.lookup().unreflect(method).asType(GETTER_TYPE);
+      return bean -> invoke(handle, bean);
+    } catch (Throwable e) {
+      Throwables.throwIfUnchecked(e);
+      throw new IllegalStateException(e);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private static Function<Object, Object> spin(Method method) throws Throwable {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle = lookup.unreflect(method);
+    CallSite site = LambdaMetafactory.metafactory(lookup, "apply",
+        MethodType.methodType(Function.class), GETTER_TYPE.erase(), handle,
+        handle.type().wrap());
+    return (Function<Object, Object>) site.getTarget().invokeExact();
+  }
+
+  private static Object invoke(MethodHandle handle, Object bean) {
+    try {
+      return (Object) handle.invokeExact(bean);
+    } catch (Throwable e) {
+      Throwables.throwIfUnchecked(e);
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * 生成的Function和当前类在同一个类加载器中，只有getter对当前类可见时才能使用LambdaMetafactory.
+   */
+  private static boolean canSpin(Method method) {
+    Class<?> declaringClass = method.getDeclaringClass();
+    if (!Modifier.isPublic(method.getModifiers())) {
+      return false;
+    }
+    for (Class<?> c = declaringClass; c != null; c = c.getEnclosingClass()) {
+      if (!Modifier.isPublic(c.getModifiers())) {
+        return false;
+      }
+    }
+    try {
+      return Class.forName(declaringClass.getName(), false,
+          PropertyAccessors.class.getClassLoader()) == declaringClass;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+}
@@ -17,7 +17,6 @@ package com.github.edgar615.validation.rule;
 import com.google.common.base.MoreObjects;
 import com.google.common.collect.Lists;
 import java.util.List;
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -36,8 +35,11 @@ class RegexRule implements Rule {
    */
   private final String value;
 
+  private final Pattern pattern;
+
   private RegexRule(String value) {
     this.value = value;
+    this.pattern = PatternCache.intern(value);
   }
 
   static Rule create(String value) {
@@ -53,9 +55,7 @@ class RegexRule implements Rule {
   public boolean isValid(Object property) {
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      Pattern pattern = Pattern.compile(value);
-      Matcher matcher = pattern.matcher(str);
-      return matcher.matches();
+      return pattern.matcher(str).matches();
     }
     return true;
   }
@@ -73,6 +73,16 @@ class RegexRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return RegexRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
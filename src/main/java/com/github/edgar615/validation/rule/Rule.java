@@ -14,6 +14,7 @@
 
 package com.github.edgar615.validation.rule;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 /**
@@ -47,6 +48,17 @@ public interface Rule {
     return EmailRule.create();
   }
 
+  /**
+   * 邮箱校验.
+   *
+   * @param cacheDomain 是否缓存需要IDN转换的域名的校验结果，适合域名重复较多的场景，
+   * 对应的字符串规则为<code>email:cached</code>
+   * @return Rule
+   */
+  static Rule email(boolean cacheDomain) {
+    return EmailRule.create(cacheDomain);
+  }
+
   /**
    * 相等校验.
    *
@@ -105,6 +117,26 @@ public interface Rule {
     return MaxRule.create(max);
   }
 
+  /**
+   * 最大值校验.
+   *
+   * @param max 最大值
+   * @return Rule
+   */
+  static Rule max(long max) {
+    return MaxRule.create(max);
+  }
+
+  /**
+   * 最大值校验，使用精确的十进制最大值.
+   *
+   * @param max 最大值
+   * @return Rule
+   */
+  static Rule max(BigDecimal max) {
+    return MaxRule.create(max);
+  }
+
   /**
    * 最小值校验.
    *
@@ -115,6 +147,26 @@ public interface Rule {
     return MinRule.create(min);
   }
 
+  /**
+   * 最小值校验.
+   *
+   * @param min 最小值
+   * @return Rule
+   */
+  static Rule min(long min) {
+    return MinRule.create(min);
+  }
+
+  /**
+   * 最小值校验，使用精确的十进制最小值.
+   *
+   * @param min 最小值
+   * @return Rule
+   */
+  static Rule min(BigDecimal min) {
+    return MinRule.create(min);
+  }
+
   /**
    * 正则校验.
    *
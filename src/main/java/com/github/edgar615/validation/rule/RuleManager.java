@@ -14,13 +14,20 @@
 
 package com.github.edgar615.validation.rule;
 
-import com.google.common.base.Joiner;
+import com.google.common.base.CharMatcher;
 import com.google.common.base.Preconditions;
-import com.google.common.base.Splitter;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ExecutionError;
+import com.google.common.util.concurrent.UncheckedExecutionException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Rule的String定义解析.
@@ -31,25 +38,24 @@ import java.util.stream.Collectors;
 public class RuleManager {
 
   /**
-   * Splits each key-value pair.
+   * Separates each key-value pair.
    */
-  private static final Splitter KEYS_SPLITTER = Splitter.on('|').trimResults().omitEmptyStrings();
+  private static final char PAIR_SEPARATOR = '|';
 
   /**
-   * Splits the key from the value.
+   * Separates the key from the value.
    */
-  private static final Splitter KEY_VALUE_SPLITTER = Splitter.on(':').trimResults()
-      .omitEmptyStrings();
+  private static final char KEY_VALUE_SEPARATOR = ':';
 
   /**
-   * Join each key-value pair.
+   * Escapes a separator inside a value, e.g. <code>regex:a\|b</code>.
    */
-  private static final Joiner KEYS_JOINER = Joiner.on('|').skipNulls();
+  private static final char ESCAPE = '\\';
 
   /**
-   * Join the key with the value.
+   * 缓存的最大数量，可以通过系统属性validation.rule.cache.size修改
    */
-  private static final Joiner KEY_VALUE_JOINER = Joiner.on(':').skipNulls();
+  private static final int DEFAULT_CACHE_SIZE = 4096;
 
   /**
    * Parser
@@ -86,10 +92,28 @@ public class RuleManager {
   private static final RuleParser SHORT_PARSE = new ShortRule.Parser();
 
   private static final RuleManager INSTANCE = new RuleManager();
-  private final List<RuleParser> parses;
+
+  /**
+   * key与Parser的索引
+   */
+  private final Map<String, RuleParser> parsersByKey;
+
+  /**
+   * Rule的类型与Parser的索引
+   */
+  private final Map<Class<?>, RuleParser> parsersByType;
+
+  /**
+   * 字符串规则与解析结果的缓存
+   */
+  private final Cache<String, RulePlan> plans;
 
   private RuleManager() {
-    this.parses = parses(ALPHA_NUMBER_PARSE, ALPHA_PARSE, ALPHA_SPACE_PARSE, ALPHA_UNDERSCORE_PARSE,
+    this.plans = CacheBuilder.newBuilder()
+        .maximumSize(Integer.getInteger("validation.rule.cache.size", DEFAULT_CACHE_SIZE))
+        .recordStats()
+        .build();
+    List<RuleParser> parses = parses(ALPHA_NUMBER_PARSE, ALPHA_PARSE, ALPHA_SPACE_PARSE, ALPHA_UNDERSCORE_PARSE,
         BOOL_PARSE, BYTE_PARSE, DATETIME_PARSE, DECIMAL_PARSE, DIGITS_PARSE,
         DOUBLE_PARSE, EMAIL_PARSE, EQUALS_PARSE, FIX_LENGTH_PARSE, FLOAT_PARSE, Int_PARSE,
         ISO8601_DATE_PARSE,
@@ -97,6 +121,14 @@ public class RuleManager {
         MAX_LENGTH_PARSE, MAX_PARSE,
         MIN_LENGTH_PARSE, MIN_PARSE, OPTIONAL_RULE, PROHIBITED_PARSE, REGEX_PARSE, REQUIRED_PARSE,
         SHORT_PARSE);
+    ImmutableMap.Builder<String, RuleParser> keyBuilder = ImmutableMap.builder();
+    ImmutableMap.Builder<Class<?>, RuleParser> typeBuilder = ImmutableMap.builder();
+    for (RuleParser parse : parses) {
+      keyBuilder.put(parse.key(), parse);
+      typeBuilder.put(parse.ruleType(), parse);
+    }
+    this.parsersByKey = keyBuilder.build();
+    this.parsersByType = typeBuilder.build();
   }
 
   public static RuleManager instance() {
@@ -105,28 +137,119 @@ public class RuleManager {
 
   /**
    * 将字符串解析为Rule.
+   * <p>
+   * 解析结果会被缓存，返回的集合不可修改.
    *
    * @param specification 字符串规则
    * @return Rule的集合
    */
   public List<Rule> parse(String specification) {
+    return compile(specification).rules();
+  }
+
+  /**
+   * 将字符串编译为RulePlan.
+   * <p>
+   * 相同的字符串规则只会解析一次，之后直接从缓存中读取.
+   *
+   * @param specification 字符串规则
+   * @return RulePlan
+   */
+  public RulePlan compile(String specification) {
+    Preconditions.checkNotNull(specification, "specification can not be null");
+    try {
+      return plans.get(specification,
+          () -> RulePlan.create(specification, doParse(specification)));
+    } catch (ExecutionException | UncheckedExecutionException | ExecutionError e) {
+      Throwables.throwIfUnchecked(e.getCause());
+      throw new IllegalStateException(e.getCause());
+    }
+  }
+
+  /**
+   * @return 缓存的统计信息，包括命中、未命中和淘汰的次数
+   */
+  public CacheStats cacheStats() {
+    return plans.stats();
+  }
+
+  /**
+   * @return 缓存的RulePlan数量
+   */
+  public long cacheSize() {
+    return plans.size();
+  }
+
+  /**
+   * 清除缓存.
+   */
+  public void invalidateCache() {
+    plans.invalidateAll();
+  }
+
+  /**
+   * 逐个字符扫描字符串规则.
+   * <p>
+   * 每个key-value对之间用<code>|</code>分隔，key和value之间用<code>:</code>分隔，前后的空白字符会被忽略.
+   * value中的<code>|</code>和<code>:</code>可以用<code>\</code>转义，其他的<code>\</code>保持原样.
+   */
+  private List<Rule> doParse(String specification) {
     List<Rule> rules = new ArrayList<>();
-    if (!specification.isEmpty()) {
-      for (String keyValuePair : KEYS_SPLITTER.split(specification)) {
-        List<String> keyAndValue = ImmutableList.copyOf(KEY_VALUE_SPLITTER.split(keyValuePair));
-        Preconditions.checkArgument(!keyAndValue.isEmpty(), "blank key-value pair");
-        Preconditions.checkArgument(
-            keyAndValue.size() <= 2,
-            "key-value pair %s with more than one equals sign",
-            keyValuePair);
-        List<Rule> parsedRule = parses.stream().map(p -> p.parse(keyAndValue))
-            .filter(p -> p != null).collect(Collectors.toList());
-        rules.addAll(parsedRule);
+    StringBuilder token = new StringBuilder();
+    String key = null;
+    String value = null;
+    boolean blank = true;
+    int pairStart = 0;
+    int length = specification.length();
+    for (int i = 0; i <= length; i++) {
+      char c = i < length ? specification.charAt(i) : PAIR_SEPARATOR;
+      if (c == ESCAPE && i + 1 < length && isSeparator(specification.charAt(i + 1))) {
+        token.append(specification.charAt(++i));
+        blank = false;
+      } else if (c == KEY_VALUE_SEPARATOR || c == PAIR_SEPARATOR) {
+        String part = CharMatcher.whitespace().trimFrom(token);
+        token.setLength(0);
+        if (!part.isEmpty()) {
+          Preconditions.checkArgument(value == null,
+              "key-value pair %s with more than one equals sign",
+              specification.substring(pairStart, Math.min(i, length)).trim());
+          if (key == null) {
+            key = part;
+          } else {
+            value = part;
+          }
+        }
+        if (c == KEY_VALUE_SEPARATOR) {
+          blank = false;
+          continue;
+        }
+        if (!blank) {
+          Preconditions.checkArgument(key != null, "blank key-value pair");
+          Rule rule = parse(key, value);
+          if (rule != null) {
+            rules.add(rule);
+          }
+        }
+        key = null;
+        value = null;
+        blank = true;
+        pairStart = i + 1;
+      } else {
+        token.append(c);
+        blank = blank && CharMatcher.whitespace().matches(c);
       }
     }
     return rules;
   }
 
+  private Rule parse(String key, String value) {
+    RuleParser parse = parsersByKey.get(key);
+    if (parse == null) {
+      return null;
+    }
+    return parse.parse(value == null ? ImmutableList.of(key) : ImmutableList.of(key, value));
+  }
+
   /**
    * 将Rule解析为字符串
    *
@@ -134,16 +257,40 @@ public class RuleManager {
    * @return 字符串
    */
   public String toParsableString(List<Rule> rules) {
-    List<String> parsableString = new ArrayList<>();
+    StringBuilder parsableString = new StringBuilder();
     for (Rule rule : rules) {
-      for (RuleParser parse : parses) {
-        List<String> keyAndValue = parse.toParsableString(rule);
-        if (!keyAndValue.isEmpty()) {
-          parsableString.add(KEY_VALUE_JOINER.join(keyAndValue));
-        }
+      RuleParser parse = parsersByType.get(rule.getClass());
+      if (parse == null) {
+        continue;
+      }
+      List<String> keyAndValue = parse.toParsableString(rule);
+      if (keyAndValue.isEmpty()) {
+        continue;
+      }
+      if (parsableString.length() > 0) {
+        parsableString.append(PAIR_SEPARATOR);
+      }
+      parsableString.append(keyAndValue.get(0));
+      if (keyAndValue.size() > 1 && keyAndValue.get(1) != null) {
+        parsableString.append(KEY_VALUE_SEPARATOR);
+        escape(keyAndValue.get(1), parsableString);
+      }
+    }
+    return parsableString.toString();
+  }
+
+  private static boolean isSeparator(char c) {
+    return c == PAIR_SEPARATOR || c == KEY_VALUE_SEPARATOR;
+  }
+
+  private static void escape(String value, StringBuilder builder) {
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (isSeparator(c)) {
+        builder.append(ESCAPE);
       }
+      builder.append(c);
     }
-    return KEYS_JOINER.join(parsableString);
   }
 
   private List<RuleParser> parses(RuleParser... parses) {
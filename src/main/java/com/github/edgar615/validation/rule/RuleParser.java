@@ -24,6 +24,16 @@ import java.util.List;
  **/
 public interface RuleParser {
 
+  /**
+   * @return 字符串定义中的key
+   */
+  String key();
+
+  /**
+   * @return 解析出的Rule的类型
+   */
+  Class<? extends Rule> ruleType();
+
   /**
    * 将字符串定义转换为rule.
    *
@@ -0,0 +1,74 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
+
+/**
+ * 编译后的规则定义.
+ * <p>
+ * 一个字符串规则（例如<code>required|maxLength:16</code>）解析后的结果，创建之后不可修改，可以在多个线程之间共享.
+ *
+ * @author Edgar
+ */
+public final class RulePlan {
+
+  /**
+   * 原始的字符串规则
+   */
+  private final String specification;
+
+  private final ImmutableList<Rule> rules;
+
+  private RulePlan(String specification, List<Rule> rules) {
+    this.specification = specification;
+    this.rules = ImmutableList.copyOf(rules);
+  }
+
+  static RulePlan create(String specification, List<Rule> rules) {
+    return new RulePlan(specification, rules);
+  }
+
+  /**
+   * @return 原始的字符串规则
+   */
+  public String specification() {
+    return specification;
+  }
+
+  /**
+   * @return 不可修改的Rule集合
+   */
+  public List<Rule> rules() {
+    return rules;
+  }
+
+  /**
+   * @return Rule的数量
+   */
+  public int size() {
+    return rules.size();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper("RulePlan")
+        .add("specification", specification)
+        .add("rules", rules)
+        .toString();
+  }
+}
@@ -0,0 +1,432 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import com.google.common.collect.MultimapBuilder;
+import com.google.common.primitives.Ints;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 编译后的校验规则.
+ * <p>
+ * 属性名和每个属性的Rule在创建时被复制到数组中，校验时直接遍历数组. 创建之后不可修改，可以在多个线程之间共享，
+ * 应该创建一次之后重复使用.
+ * <p>
+ * 默认校验所有属性的所有规则，可以通过FailureMode和maxErrors提前结束校验.
+ *
+ * @author Edgar
+ */
+public final class RuleSet {
+
+  private final Fields compiled;
+
+  private final FailureMode failureMode;
+
+  private final int maxErrors;
+
+  private RuleSet(Fields compiled, FailureMode failureMode, int maxErrors) {
+    Preconditions.checkNotNull(failureMode, "failureMode can not be null");
+    Preconditions.checkArgument(maxErrors > 0, "maxErrors must be positive");
+    this.compiled = compiled;
+    this.failureMode = failureMode;
+    this.maxErrors = maxErrors;
+  }
+
+  /**
+   * 根据Multimap创建RuleSet.
+   * <p>
+   * 包含<code>.</code>或<code>[]</code>的属性名被编译为路径，例如<code>profile.age</code>、
+   * <code>items[*].sku</code>、<code>items[0]</code>，校验时沿路径读取嵌套的Map、List或JAVA BEAN.
+   * 校验Map时，如果Map中有和路径完全相同的键，使用这个键的值，兼容键中本来就包含<code>.</code>的Map；
+   * 校验MultiMap和表单时属性名始终按字面匹配.
+   *
+   * @param rules 校验规则的map对象，map的键值是需要校验的属性名，值是校验规则的集合
+   * @return RuleSet
+   */
+  public static RuleSet of(Multimap<String, Rule> rules) {
+    Preconditions.checkNotNull(rules, "rules can not be null");
+    return new RuleSet(new Fields(rules.asMap()), FailureMode.ALL, Integer.MAX_VALUE);
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * 返回使用新的FailureMode的RuleSet，校验规则不会被复制.
+   *
+   * @param failureMode FailureMode
+   * @return RuleSet
+   */
+  public RuleSet withFailureMode(FailureMode failureMode) {
+    return new RuleSet(compiled, failureMode, maxErrors);
+  }
+
+  /**
+   * 返回最多记录maxErrors个错误的RuleSet，校验规则不会被复制.
+   *
+   * @param maxErrors 错误的最大数量，达到这个数量后停止校验
+   * @return RuleSet
+   */
+  public RuleSet withMaxErrors(int maxErrors) {
+    return new RuleSet(compiled, failureMode, maxErrors);
+  }
+
+  public FailureMode failureMode() {
+    return failureMode;
+  }
+
+  /**
+   * @return 错误的最大数量，没有限制时返回Integer.MAX_VALUE
+   */
+  public int maxErrors() {
+    return maxErrors;
+  }
+
+  /**
+   * @return 属性的数量
+   */
+  public int size() {
+    return compiled.fields.length;
+  }
+
+  /**
+   * @return 所有的属性名
+   */
+  public List<String> fields() {
+    return ImmutableList.copyOf(compiled.fields);
+  }
+
+  /**
+   * @param field 属性名
+   * @return 属性的校验规则，如果属性不存在，返回空集合
+   */
+  public List<Rule> rules(String field) {
+    for (int i = 0; i < compiled.fields.length; i++) {
+      if (compiled.fields[i].equals(field)) {
+        return ImmutableList.copyOf(compiled.rules[i]);
+      }
+    }
+    return ImmutableList.of();
+  }
+
+  String field(int index) {
+    return compiled.fields[index];
+  }
+
+  Rule[] rules(int index) {
+    return compiled.rules[index];
+  }
+
+  /**
+   * @return 属性的路径，不是路径时返回null
+   */
+  FieldPath path(int index) {
+    return compiled.paths[index];
+  }
+
+  /**
+   * @return 属性在第一层的名称，不是路径时就是属性名
+   */
+  String root(int index) {
+    return compiled.roots[compiled.rootOf[index]];
+  }
+
+  /**
+   * @param type 类
+   * @return 第一层属性的读取方法，和属性的顺序一致，不存在的属性对应null
+   */
+  Function<Object, Object>[] accessors(Class<?> type) {
+    return compiled.accessors.get(type);
+  }
+
+  /**
+   * @return 第一层属性的数量
+   */
+  int rootCount() {
+    return compiled.roots.length;
+  }
+
+  /**
+   * @param root 第一层属性的下标
+   * @return 第一层属性对应的属性下标
+   */
+  int[] rootFields(int root) {
+    return compiled.rootFields[root];
+  }
+
+  /**
+   * 根据第一层属性名的UTF-8编码查找属性.
+   *
+   * @param bytes 包含属性名的字节数组
+   * @param from 属性名的开始位置
+   * @param to 属性名的结束位置，不包括
+   * @return 第一层属性的下标，不存在时返回-1
+   */
+  int rootIndexOf(byte[] bytes, int from, int to) {
+    return compiled.rootTable.indexOf(bytes, from, to);
+  }
+
+  /**
+   * @param root 第一层属性名
+   * @return 第一层属性的下标，不存在时返回-1
+   */
+  int rootIndexOf(String root) {
+    byte[] bytes = root.getBytes(StandardCharsets.UTF_8);
+    return rootIndexOf(bytes, 0, bytes.length);
+  }
+
+  /**
+   * 根据完整属性名的UTF-8编码查找属性，路径也按字面匹配.
+   *
+   * @param bytes 包含属性名的字节数组
+   * @param from 属性名的开始位置
+   * @param to 属性名的结束位置，不包括
+   * @return 属性的下标，不存在时返回-1
+   */
+  int fieldIndexOf(byte[] bytes, int from, int to) {
+    return compiled.fieldTable.indexOf(bytes, from, to);
+  }
+
+  /**
+   * @param field 属性名
+   * @return 属性的下标，不存在时返回-1
+   */
+  int fieldIndexOf(String field) {
+    byte[] bytes = field.getBytes(StandardCharsets.UTF_8);
+    return fieldIndexOf(bytes, 0, bytes.length);
+  }
+
+  /**
+   * @return 达到这个数量的错误之后停止校验
+   */
+  int errorLimit() {
+    return failureMode == FailureMode.FIRST_ERROR ? 1 : maxErrors;
+  }
+
+  @Override
+  public String toString() {
+    MoreObjects.ToStringHelper helper = MoreObjects.toStringHelper("RuleSet")
+        .add("failureMode", failureMode)
+        .add("maxErrors", maxErrors);
+    for (int i = 0; i < compiled.fields.length; i++) {
+      helper.add(compiled.fields[i], Arrays.toString(compiled.rules[i]));
+    }
+    return helper.toString();
+  }
+
+  /**
+   * 编译后的属性，不同FailureMode的RuleSet共享同一个对象.
+   * <p>
+   * 属性按第一层的名称分组，<code>profile</code>、<code>profile.age</code>和<code>profile.name</code>
+   * 属于同一个第一层属性，JSON等按第一层属性读取的校验方式只需要读取一次.
+   */
+  private static class Fields {
+
+    private final String[] fields;
+
+    private final Rule[][] rules;
+
+    private final FieldPath[] paths;
+
+    /**
+     * 每个属性对应的第一层属性的下标
+     */
+    private final int[] rootOf;
+
+    private final String[] roots;
+
+    private final int[][] rootFields;
+
+    private final NameTable rootTable;
+
+    private final NameTable fieldTable;
+
+    /**
+     * 每个类的第一层属性读取方法，和fields的顺序一致
+     */
+    private final ClassValue<Function<Object, Object>[]> accessors
+        = new ClassValue<Function<Object, Object>[]>() {
+      @Override
+      protected Function<Object, Object>[] computeValue(Class<?> type) {
+        PropertyAccessors properties = PropertyAccessors.of(type);
+        @SuppressWarnings("unchecked")
+        Function<Object, Object>[] getters =
+            (Function<Object, Object>[]) new Function<?, ?>[fields.length];
+        for (int i = 0; i < fields.length; i++) {
+          getters[i] = properties.getter(roots[rootOf[i]]);
+        }
+        return getters;
+      }
+    };
+
+    private Fields(Map<String, Collection<Rule>> map) {
+      int size = map.size();
+      fields = new String[size];
+      rules = new Rule[size][];
+      paths = new FieldPath[size];
+      rootOf = new int[size];
+      Map<String, List<Integer>> groups = new LinkedHashMap<>();
+      int i = 0;
+      for (Map.Entry<String, Collection<Rule>> entry : map.entrySet()) {
+        fields[i] = entry.getKey();
+        rules[i] = entry.getValue().toArray(new Rule[0]);
+        paths[i] = FieldPath.compile(fields[i]);
+        String root = paths[i] == null ? fields[i] : paths[i].root();
+        groups.computeIfAbsent(root, k -> new ArrayList<>()).add(i);
+        i++;
+      }
+      roots = groups.keySet().toArray(new String[0]);
+      rootFields = new int[roots.length][];
+      for (int r = 0; r < roots.length; r++) {
+        rootFields[r] = Ints.toArray(groups.get(roots[r]));
+        for (int field : rootFields[r]) {
+          rootOf[field] = r;
+        }
+      }
+      rootTable = new NameTable(roots);
+      fieldTable = new NameTable(fields);
+    }
+  }
+
+  /**
+   * 以名称的UTF-8编码查找下标的开放寻址表，不需要把字节转换为字符串.
+   */
+  private static class NameTable {
+
+    private final byte[][] names;
+
+    /**
+     * 以名称hash为下标，保存名称的下标+1
+     */
+    private final int[] table;
+
+    private NameTable(String[] names) {
+      this.names = new byte[names.length][];
+      this.table = new int[Integer.highestOneBit(Math.max(names.length, 1) * 4)];
+      for (int i = 0; i < names.length; i++) {
+        this.names[i] = names[i].getBytes(StandardCharsets.UTF_8);
+        int slot = hash(this.names[i], 0, this.names[i].length) & (table.length - 1);
+        while (table[slot] != 0) {
+          slot = (slot + 1) & (table.length - 1);
+        }
+        table[slot] = i + 1;
+      }
+    }
+
+    private int indexOf(byte[] bytes, int from, int to) {
+      int mask = table.length - 1;
+      for (int slot = hash(bytes, from, to) & mask; table[slot] != 0;
+          slot = (slot + 1) & mask) {
+        byte[] name = names[table[slot] - 1];
+        if (name.length == to - from && regionMatches(name, bytes, from)) {
+          return table[slot] - 1;
+        }
+      }
+      return -1;
+    }
+
+    private static boolean regionMatches(byte[] name, byte[] bytes, int from) {
+      for (int i = 0; i < name.length; i++) {
+        if (name[i] != bytes[from + i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static int hash(byte[] bytes, int from, int to) {
+      int h = 0;
+      for (int i = from; i < to; i++) {
+        h = 31 * h + bytes[i];
+      }
+      return h ^ (h >>> 16);
+    }
+  }
+
+  public static class Builder {
+
+    private final Multimap<String, Rule> rules = MultimapBuilder.linkedHashKeys()
+        .arrayListValues().build();
+
+    private FailureMode failureMode = FailureMode.ALL;
+
+    private int maxErrors = Integer.MAX_VALUE;
+
+    private Builder() {
+    }
+
+    /**
+     * @param failureMode 出现错误之后的处理方式，默认为ALL
+     * @return Builder
+     */
+    public Builder failureMode(FailureMode failureMode) {
+      this.failureMode = failureMode;
+      return this;
+    }
+
+    /**
+     * @param maxErrors 错误的最大数量，达到这个数量后停止校验，默认没有限制
+     * @return Builder
+     */
+    public Builder maxErrors(int maxErrors) {
+      this.maxErrors = maxErrors;
+      return this;
+    }
+
+    /**
+     * 增加属性的校验规则.
+     *
+     * @param field 属性名
+     * @param rules 校验规则
+     * @return Builder
+     */
+    public Builder add(String field, Rule... rules) {
+      Preconditions.checkNotNull(field, "field can not be null");
+      for (Rule rule : rules) {
+        this.rules.put(field, Preconditions.checkNotNull(rule, "rule can not be null"));
+      }
+      return this;
+    }
+
+    /**
+     * 增加属性的校验规则.
+     *
+     * @param field 属性名
+     * @param specification 字符串规则，例如<code>required|maxLength:16</code>
+     * @return Builder
+     */
+    public Builder add(String field, String specification) {
+      Preconditions.checkNotNull(field, "field can not be null");
+      this.rules.putAll(field, RuleManager.instance().compile(specification).rules());
+      return this;
+    }
+
+    public RuleSet build() {
+      return RuleSet.of(rules).withFailureMode(failureMode).withMaxErrors(maxErrors);
+    }
+  }
+}
@@ -65,12 +65,7 @@ class ShortRule implements Rule {
     }
     if (property != null && (property instanceof String)) {
       String str = String.class.cast(property);
-      try {
-        Short.parseShort(str);
-        return true;
-      } catch (NumberFormatException e) {
-        return false;
-      }
+      return NumberScanner.isInteger(str, Short.MIN_VALUE, Short.MAX_VALUE);
     }
     return false;
   }
@@ -83,6 +78,16 @@ class ShortRule implements Rule {
 
   static class Parser implements RuleParser {
 
+    @Override
+    public String key() {
+      return KEY;
+    }
+
+    @Override
+    public Class<? extends Rule> ruleType() {
+      return ShortRule.class;
+    }
+
     @Override
     public Rule parse(List<String> keyAndValue) {
       String key = keyAndValue.get(0);
@@ -1,26 +1,43 @@
 package com.github.edgar615.validation.rule;
 
-import com.github.edgar615.util.reflect.BeanUtils;
-import com.github.edgar615.validation.ValidationException;
-import com.google.common.collect.ArrayListMultimap;
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.base.Preconditions;
 import com.google.common.collect.Multimap;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
 
 /**
  * 校验工具类.
+ * <p>
+ * 接收Multimap的方法每次都会把校验规则编译为RuleSet，需要重复校验的规则应该先创建RuleSet，
+ * 使用RuleSet校验合法的Map时不会创建任何对象.
+ * <p>
+ * validate方法在校验失败时抛出ValidationException，validateToResult方法不抛出异常，而是返回ValidationResult.
  *
  * @author Edgar  Date 2016/4/13
  */
 public class Validations {
 
+  /**
+   * 批量校验时每个任务默认处理的最大行数
+   */
+  public static final int DEFAULT_BATCH_THRESHOLD = 256;
+
   private Validations() {
     throw new AssertionError("Not instantiable: " + Validations.class);
   }
 
   /**
-   * 校验JsonObject，仅支持单层校验. 如果参数值是list或者map，不会遍历list或map内部是否合法。
+   * 校验JsonObject. 如果参数值是list或者map，只有属性名是路径（例如<code>items[*].sku</code>）时才会校验内部的值。
    * <p>
    *
    * @param params 需要校验的map对象
@@ -28,22 +45,25 @@ public class Validations {
    */
   public static void validate(final Map<String, Object> params,
       final Multimap<String, Rule> rules) {
-    Multimap<String, String> error = ArrayListMultimap.create();
     if (params == null) {
       return;
     }
-    rules.asMap().forEach((field, fieldRules) -> {
-      fieldRules.stream().forEach(rule -> {
-        Object value = params.get(field);
-        if (checkParameter(value)) {
-          if (!rule.isValid(value)) {
-            error.put(field, rule.message());
-          }
-        }
-      });
-    });
-    if (!error.isEmpty()) {
-      throw new ValidationException(error);
+    validate(params, RuleSet.of(rules));
+  }
+
+  /**
+   * 校验JsonObject. 如果参数值是list或者map，只有属性名是路径（例如<code>items[*].sku</code>）时才会校验内部的值。
+   *
+   * @param params 需要校验的map对象
+   * @param ruleSet 校验规则
+   */
+  public static void validate(final Map<String, Object> params, final RuleSet ruleSet) {
+    if (params == null) {
+      return;
+    }
+    ValidationResult result = check(params, ruleSet, null);
+    if (result != null) {
+      throw result.toException();
     }
   }
 
@@ -55,41 +75,545 @@ public class Validations {
    */
   public static void validate(final Multimap<String, String> multiMap,
       final Multimap<String, Rule> rules) {
-    Multimap<String, String> error = ArrayListMultimap.create();
     if (multiMap == null) {
       return;
     }
-    rules.asMap().forEach((field, fieldRules) -> {
-      fieldRules.stream().forEach(rule -> {
-        List<String> values = new ArrayList<>(multiMap.get(field));
-        if (checkRquired(rule, values)) {
-          error.put(field, rule.message());
-        }
-        values.stream().forEach(value -> {
-          if (checkParameter(value)) {
-            if (!rule.isValid(value)) {
-              error.put(field, rule.message());
-            }
-          }
-        });
-      });
-    });
-    if (!error.isEmpty()) {
-      throw new ValidationException(error);
+    validate(multiMap, RuleSet.of(rules));
+  }
+
+  /**
+   * 校验MultiMap.
+   *
+   * @param multiMap 需要校验的对象
+   * @param ruleSet 校验规则
+   */
+  public static void validate(final Multimap<String, String> multiMap, final RuleSet ruleSet) {
+    if (multiMap == null) {
+      return;
+    }
+    ValidationResult result = check(multiMap, ruleSet, null);
+    if (result != null) {
+      throw result.toException();
     }
   }
 
   /**
    * 校验JAVA BEAN
+   * <p>
+   * 每次调用都会把rules编译为RuleSet，并且不会缓存属性的读取方法，需要重复校验时应该先创建RuleSet，
+   * 再调用{@link #validate(Object, RuleSet)}.
+   *
    * @param target 被校验的对象
    * @param rules 校验规则
    */
   public static void validate(Object target,Multimap<String, Rule> rules) {
-    Map<String, Object> map = BeanUtils.toMap(target);
-    validate(map, rules);
+    if (target == null) {
+      return;
+    }
+    RuleSet ruleSet = RuleSet.of(rules);
+    PropertyAccessors properties = PropertyAccessors.of(target.getClass());
+    ValidationResult result = null;
+    for (int i = 0; i < ruleSet.size(); i++) {
+      Function<Object, Object> getter = properties.getter(ruleSet.root(i));
+      result = checkField(ruleSet, i, getter == null ? null : getter.apply(target), result);
+    }
+    if (result != null) {
+      throw result.toException();
+    }
+  }
+
+  /**
+   * 校验JAVA BEAN，只读取有校验规则的属性，没有getter的属性按null校验.
+   *
+   * @param target 被校验的对象
+   * @param ruleSet 校验规则
+   */
+  public static void validate(Object target, RuleSet ruleSet) {
+    if (target == null) {
+      return;
+    }
+    ValidationResult result = checkBean(target, ruleSet, null);
+    if (result != null) {
+      throw result.toException();
+    }
+  }
+
+  /**
+   * 校验JsonObject，不抛出异常.
+   *
+   * @param params 需要校验的map对象
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   */
+  public static ValidationResult validateToResult(final Map<String, Object> params,
+      final RuleSet ruleSet) {
+    return validateToResult(params, ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验JsonObject，不抛出异常.
+   *
+   * @param params 需要校验的map对象
+   * @param ruleSet 校验规则
+   * @param result 用来保存校验结果的对象，校验之前会被清空
+   * @return 传入的result
+   */
+  public static ValidationResult validateToResult(final Map<String, Object> params,
+      final RuleSet ruleSet, final ValidationResult result) {
+    result.reset();
+    if (params != null) {
+      check(params, ruleSet, result);
+    }
+    return result;
+  }
+
+  /**
+   * 校验MultiMap，不抛出异常.
+   *
+   * @param multiMap 需要校验的对象
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   */
+  public static ValidationResult validateToResult(final Multimap<String, String> multiMap,
+      final RuleSet ruleSet) {
+    return validateToResult(multiMap, ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验MultiMap，不抛出异常.
+   *
+   * @param multiMap 需要校验的对象
+   * @param ruleSet 校验规则
+   * @param result 用来保存校验结果的对象，校验之前会被清空
+   * @return 传入的result
+   */
+  public static ValidationResult validateToResult(final Multimap<String, String> multiMap,
+      final RuleSet ruleSet, final ValidationResult result) {
+    result.reset();
+    if (multiMap != null) {
+      check(multiMap, ruleSet, result);
+    }
+    return result;
+  }
+
+  /**
+   * 校验JAVA BEAN，不抛出异常.
+   *
+   * @param target 被校验的对象
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   */
+  public static ValidationResult validateToResult(Object target, RuleSet ruleSet) {
+    return validateToResult(target, ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验JAVA BEAN，不抛出异常.
+   *
+   * @param target 被校验的对象
+   * @param ruleSet 校验规则
+   * @param result 用来保存校验结果的对象，校验之前会被清空
+   * @return 传入的result
+   */
+  public static ValidationResult validateToResult(Object target, RuleSet ruleSet,
+      ValidationResult result) {
+    result.reset();
+    if (target != null) {
+      checkBean(target, ruleSet, result);
+    }
+    return result;
+  }
+
+  /**
+   * 校验UTF-8编码的JSON对象，不需要先把JSON解析为Map. 只有存在校验规则的第一层属性才会被解析.
+   *
+   * @param json UTF-8编码的JSON对象
+   * @param ruleSet 校验规则
+   * @throws IllegalArgumentException JSON的格式不正确，或者不是JSON对象
+   */
+  public static void validateJson(final byte[] json, final RuleSet ruleSet) {
+    if (json == null) {
+      return;
+    }
+    ValidationResult result = JsonValidator.check(json, ruleSet, null);
+    if (result != null) {
+      throw result.toException();
+    }
+  }
+
+  /**
+   * 校验UTF-8编码的JSON对象，不抛出ValidationException.
+   *
+   * @param json UTF-8编码的JSON对象
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   * @throws IllegalArgumentException JSON的格式不正确，或者不是JSON对象
+   */
+  public static ValidationResult validateJsonToResult(final byte[] json, final RuleSet ruleSet) {
+    return validateJsonToResult(json, ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验UTF-8编码的JSON对象，不抛出ValidationException.
+   *
+   * @param json UTF-8编码的JSON对象
+   * @param ruleSet 校验规则
+   * @param result 用来保存校验结果的对象，校验之前会被清空
+   * @return 传入的result
+   * @throws IllegalArgumentException JSON的格式不正确，或者不是JSON对象
+   */
+  public static ValidationResult validateJsonToResult(final byte[] json, final RuleSet ruleSet,
+      final ValidationResult result) {
+    result.reset();
+    if (json != null) {
+      JsonValidator.check(json, ruleSet, result);
+    }
+    return result;
+  }
+
+  /**
+   * 校验application/x-www-form-urlencoded格式的查询字符串或者表单，语义和校验MultiMap相同.
+   *
+   * @param form 查询字符串或者表单，不包括开头的<code>?</code>
+   * @param ruleSet 校验规则
+   * @throws IllegalArgumentException 有校验规则的属性中有不合法的百分号编码
+   */
+  public static void validateForm(final String form, final RuleSet ruleSet) {
+    if (form == null) {
+      return;
+    }
+    validateForm(form.getBytes(StandardCharsets.UTF_8), ruleSet);
+  }
+
+  /**
+   * 校验UTF-8编码的application/x-www-form-urlencoded表单，不需要先把表单解析为MultiMap.
+   * 只有存在校验规则的属性的值才会被解码.
+   *
+   * @param form 表单的字节
+   * @param ruleSet 校验规则
+   * @throws IllegalArgumentException 有校验规则的属性中有不合法的百分号编码
+   */
+  public static void validateForm(final byte[] form, final RuleSet ruleSet) {
+    if (form == null) {
+      return;
+    }
+    ValidationResult result = FormValidator.check(form, ruleSet, null);
+    if (result != null) {
+      throw result.toException();
+    }
+  }
+
+  /**
+   * 校验application/x-www-form-urlencoded格式的查询字符串或者表单，不抛出ValidationException.
+   *
+   * @param form 查询字符串或者表单，不包括开头的<code>?</code>
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   * @throws IllegalArgumentException 有校验规则的属性中有不合法的百分号编码
+   */
+  public static ValidationResult validateFormToResult(final String form, final RuleSet ruleSet) {
+    return validateFormToResult(form == null ? null : form.getBytes(StandardCharsets.UTF_8),
+        ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验UTF-8编码的application/x-www-form-urlencoded表单，不抛出ValidationException.
+   *
+   * @param form 表单的字节
+   * @param ruleSet 校验规则
+   * @return 校验结果
+   * @throws IllegalArgumentException 有校验规则的属性中有不合法的百分号编码
+   */
+  public static ValidationResult validateFormToResult(final byte[] form, final RuleSet ruleSet) {
+    return validateFormToResult(form, ruleSet, new ValidationResult());
+  }
+
+  /**
+   * 校验UTF-8编码的application/x-www-form-urlencoded表单，不抛出ValidationException.
+   *
+   * @param form 表单的字节
+   * @param ruleSet 校验规则
+   * @param result 用来保存校验结果的对象，校验之前会被清空
+   * @return 传入的result
+   * @throws IllegalArgumentException 有校验规则的属性中有不合法的百分号编码
+   */
+  public static ValidationResult validateFormToResult(final byte[] form, final RuleSet ruleSet,
+      final ValidationResult result) {
+    result.reset();
+    if (form != null) {
+      FormValidator.check(form, ruleSet, result);
+    }
+    return result;
+  }
+
+  /**
+   * 使用ForkJoinPool.commonPool()批量校验map.
+   *
+   * @param rows 需要校验的map对象
+   * @param ruleSet 校验规则
+   * @return 每一行的校验结果，和rows的顺序一致
+   */
+  public static List<ValidationResult> validateAll(final List<? extends Map<String, Object>> rows,
+      final RuleSet ruleSet) {
+    return validateAll(rows, ruleSet, ForkJoinPool.commonPool(), DEFAULT_BATCH_THRESHOLD);
+  }
+
+  /**
+   * 批量校验map. 行数超过threshold时，拆分为多个任务在pool中并行校验.
+   *
+   * @param rows 需要校验的map对象
+   * @param ruleSet 校验规则
+   * @param pool 执行校验的线程池
+   * @param threshold 每个任务处理的最大行数
+   * @return 每一行的校验结果，和rows的顺序一致
+   */
+  public static List<ValidationResult> validateAll(final List<? extends Map<String, Object>> rows,
+      final RuleSet ruleSet, final ForkJoinPool pool, final int threshold) {
+    return batch(rows, ruleSet, pool, threshold, false);
+  }
+
+  /**
+   * 使用ForkJoinPool.commonPool()批量校验JAVA BEAN.
+   *
+   * @param targets 被校验的对象
+   * @param ruleSet 校验规则
+   * @return 每个对象的校验结果，和targets的顺序一致
+   */
+  public static List<ValidationResult> validateAllBeans(final List<?> targets,
+      final RuleSet ruleSet) {
+    return validateAllBeans(targets, ruleSet, ForkJoinPool.commonPool(),
+        DEFAULT_BATCH_THRESHOLD);
+  }
+
+  /**
+   * 批量校验JAVA BEAN. 对象数量超过threshold时，拆分为多个任务在pool中并行校验.
+   *
+   * @param targets 被校验的对象
+   * @param ruleSet 校验规则
+   * @param pool 执行校验的线程池
+   * @param threshold 每个任务处理的最大对象数量
+   * @return 每个对象的校验结果，和targets的顺序一致
+   */
+  public static List<ValidationResult> validateAllBeans(final List<?> targets,
+      final RuleSet ruleSet, final ForkJoinPool pool, final int threshold) {
+    return batch(targets, ruleSet, pool, threshold, true);
+  }
+
+  private static List<ValidationResult> batch(List<?> rows, RuleSet ruleSet, ForkJoinPool pool,
+      int threshold, boolean beans) {
+    Preconditions.checkNotNull(ruleSet, "ruleSet can not be null");
+    Preconditions.checkNotNull(pool, "pool can not be null");
+    Preconditions.checkArgument(threshold > 0, "threshold must be positive");
+    List<?> list = rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+    ValidationResult[] results = new ValidationResult[list.size()];
+    BatchTask task = new BatchTask(list, ruleSet, results, 0, results.length, threshold, beans);
+    if (results.length <= threshold) {
+      task.compute();
+    } else {
+      pool.invoke(task);
+    }
+    return Collections.unmodifiableList(Arrays.asList(results));
+  }
+
+  /**
+   * 按下标范围拆分的批量校验任务，每个任务把结果写入results中对应的位置.
+   */
+  private static class BatchTask extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final List<?> rows;
+
+    private final RuleSet ruleSet;
+
+    private final ValidationResult[] results;
+
+    private final int from;
+
+    private final int to;
+
+    private final int threshold;
+
+    private final boolean beans;
+
+    private BatchTask(List<?> rows, RuleSet ruleSet, ValidationResult[] results, int from,
+        int to, int threshold, boolean beans) {
+      this.rows = rows;
+      this.ruleSet = ruleSet;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+      this.threshold = threshold;
+      this.beans = beans;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void compute() {
+      if (to - from <= threshold) {
+        for (int i = from; i < to; i++) {
+          Object row = rows.get(i);
+          results[i] = beans
+              ? validateToResult(row, ruleSet)
+              : validateToResult((Map<String, Object>) row, ruleSet);
+        }
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      invokeAll(new BatchTask(rows, ruleSet, results, from, mid, threshold, beans),
+          new BatchTask(rows, ruleSet, results, mid, to, threshold, beans));
+    }
+  }
+
+  /**
+   * 校验map. 如果map中有和路径完全相同的键，例如<code>a.b</code>，按普通属性校验这个键的值，不再沿路径读取.
+   *
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象，没有传入result并且没有错误时返回null
+   */
+  private static ValidationResult check(Map<String, Object> params, RuleSet ruleSet,
+      ValidationResult result) {
+    for (int i = 0; i < ruleSet.size(); i++) {
+      if (ruleSet.path(i) != null && params.containsKey(ruleSet.field(i))) {
+        result = checkValue(ruleSet, i, null, params.get(ruleSet.field(i)), result);
+      } else {
+        result = checkField(ruleSet, i, params.get(ruleSet.root(i)), result);
+      }
+      if (limitReached(ruleSet, result)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 校验JAVA BEAN，属性通过RuleSet中缓存的读取方法获取.
+   */
+  private static ValidationResult checkBean(Object target, RuleSet ruleSet,
+      ValidationResult result) {
+    Function<Object, Object>[] accessors = ruleSet.accessors(target.getClass());
+    for (int i = 0; i < accessors.length; i++) {
+      Object value = accessors[i] == null ? null : accessors[i].apply(target);
+      result = checkField(ruleSet, i, value, result);
+      if (limitReached(ruleSet, result)) {
+        return result;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * 使用第index个属性的规则校验value.
+   *
+   * @param value 第一层属性的值，如果属性是路径，沿路径读取需要校验的值
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象
+   */
+  static ValidationResult checkField(RuleSet ruleSet, int index, Object value,
+      ValidationResult result) {
+    FieldPath path = ruleSet.path(index);
+    if (path != null) {
+      return path.check(ruleSet, index, value, result);
+    }
+    return checkValue(ruleSet, index, null, value, result);
+  }
+
+  /**
+   * 使用第index个属性的规则校验value.
+   *
+   * @param indices 路径中每个<code>[*]</code>对应的下标，用于生成错误信息中的属性名，不是路径时为null
+   * @param result 保存错误信息的对象，如果为null，在第一次出现错误时创建
+   * @return 保存了错误信息的对象
+   */
+  static ValidationResult checkValue(RuleSet ruleSet, int index, int[] indices, Object value,
+      ValidationResult result) {
+    if (!checkParameter(value)) {
+      return result;
+    }
+    String field = null;
+    for (Rule rule : ruleSet.rules(index)) {
+      if (!rule.isValid(value)) {
+        if (field == null) {
+          field = indices == null ? ruleSet.field(index) : ruleSet.path(index).render(indices);
+        }
+        result = addError(result, field, rule);
+        if (result.errorCount() >= ruleSet.errorLimit()
+            || ruleSet.failureMode() == FailureMode.FIRST_ERROR_PER_FIELD) {
+          return result;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * @return 错误的数量达到RuleSet的限制时返回true
+   */
+  static boolean limitReached(RuleSet ruleSet, ValidationResult result) {
+    return result != null && result.errorCount() >= ruleSet.errorLimit();
+  }
+
+  private static ValidationResult check(Multimap<String, String> multiMap, RuleSet ruleSet,
+      ValidationResult result) {
+    int limit = ruleSet.errorLimit();
+    boolean perField = ruleSet.failureMode() == FailureMode.FIRST_ERROR_PER_FIELD;
+    fields:
+    for (int i = 0; i < ruleSet.size(); i++) {
+      String field = ruleSet.field(i);
+      Collection<String> values = multiMap.get(field);
+      for (Rule rule : ruleSet.rules(i)) {
+        if (checkRquired(rule, values)) {
+          result = addError(result, field, rule);
+          if (result.errorCount() >= limit) {
+            return result;
+          }
+          if (perField) {
+            continue fields;
+          }
+        }
+        if (values instanceof List && values instanceof RandomAccess) {
+          List<String> list = (List<String>) values;
+          for (int j = 0; j < list.size(); j++) {
+            if (!check(list.get(j), rule)) {
+              result = addError(result, field, rule);
+              if (result.errorCount() >= limit) {
+                return result;
+              }
+              if (perField) {
+                continue fields;
+              }
+            }
+          }
+        } else {
+          for (String value : values) {
+            if (!check(value, rule)) {
+              result = addError(result, field, rule);
+              if (result.errorCount() >= limit) {
+                return result;
+              }
+              if (perField) {
+                continue fields;
+              }
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  private static boolean check(String value, Rule rule) {
+    return !checkParameter(value) || rule.isValid(value);
+  }
+
+  private static ValidationResult addError(ValidationResult result, String field, Rule rule) {
+    if (result == null) {
+      result = new ValidationResult();
+    }
+    return result.addError(field, rule.message());
   }
 
-  private static boolean checkRquired(Rule rule, List<String> values) {
+  private static boolean checkRquired(Rule rule, Collection<String> values) {
     return (values == null || values.isEmpty()) && rule instanceof RequiredRule;
   }
 
@@ -107,4 +631,4 @@ public class Validations {
         || value instanceof List
         || value instanceof Map;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Multimap;
+import java.util.function.BooleanSupplier;
+import javax.validation.constraints.Max;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CachedMessageInterpolatorTest {
+
+  @Test
+  public void testSameMessages() {
+    Account account = new Account();
+    account.username = "edgar 615";
+    account.code = "123";
+    account.age = 200;
+    account.email = "edgar";
+    account.nickname = "edgar";
+    account.date = "2020-13-01";
+    Multimap<String, String> expected = errors(account, ValidatorOptions.builder()
+        .compileBeans(false).build());
+    Assert.assertEquals(7, expected.size());
+    Assert.assertEquals(expected, errors(account, ValidatorOptions.builder()
+        .messageInterpolator(new CachedMessageInterpolator()).compileBeans(false).build()));
+    Assert.assertEquals(expected, errors(account, ValidatorOptions.builder()
+        .messageInterpolator(new CachedMessageInterpolator()).build()));
+  }
+
+  @Test
+  public void testTemplate() {
+    Escaped escaped = new Escaped();
+    escaped.name = "a";
+    Multimap<String, String> errors = errors(escaped, ValidatorOptions.builder()
+        .messageInterpolator(new CachedMessageInterpolator()).build());
+    // EL表达式原样保留
+    Assert.assertEquals("{min}-{max} ${min} 2-8 \\", errors.get("name").iterator().next());
+  }
+
+  @Test
+  public void testWithoutExpressionLanguage() {
+    Price price = new Price();
+    price.amount = 200;
+    Multimap<String, String> errors = errors(price, ValidatorOptions.defaults());
+    Assert.assertEquals("200 > 100", errors.get("amount").iterator().next());
+
+    BooleanSupplier expressionLanguage = Validations.expressionLanguage;
+    Validations.expressionLanguage = () -> false;
+    try {
+      errors = errors(price, ValidatorOptions.defaults());
+      Assert.assertEquals("${validatedValue} > 100", errors.get("amount").iterator().next());
+      Assert.assertTrue(GroupPlan.of(GroupPlanTest.Account.class).isCompiled());
+    } finally {
+      Validations.expressionLanguage = expressionLanguage;
+      Validations.configure(ValidatorOptions.defaults());
+    }
+  }
+
+  private static Multimap<String, String> errors(Object bean, ValidatorOptions options) {
+    Validations.configure(options);
+    try {
+      ValidationResult result = Validations.validateBeanToResult(bean);
+      return HashMultimap.create(result.getErrorDetail());
+    } finally {
+      Validations.configure(ValidatorOptions.defaults());
+    }
+  }
+
+  public static class Account {
+
+    @NotNull
+    @AlphaNumberValidator
+    private String username;
+
+    @FixLengthValidator(length = 5)
+    private String code;
+
+    @Max(120)
+    private int age;
+
+    @Pattern(regexp = "[a-z]+@[a-z.]+", message = "{javax.validation.constraints.Email.message}")
+    private String email;
+
+    @Size(min = 8, max = 16, message = "昵称长度必须在{min}和{max}之间")
+    private String nickname;
+
+    @DateValidator
+    private String date;
+
+    @NotNull
+    private String password;
+  }
+
+  public static class Price {
+
+    @Max(value = 100, message = "${validatedValue} > {value}")
+    private int amount;
+  }
+
+  public static class Escaped {
+
+    @NotNull
+    @Size(min = 2, max = 8, message = "\\{min\\}-\\{max\\} ${min} {min}-{max} \\\\")
+    private String name;
+  }
+}
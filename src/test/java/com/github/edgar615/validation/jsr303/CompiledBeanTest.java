@@ -0,0 +1,151 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.ValidationException;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Multimap;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import javax.validation.Valid;
+import javax.validation.Validation;
+import javax.validation.ValidatorFactory;
+import javax.validation.valueextraction.Unwrapping;
+import javax.validation.groups.Default;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class CompiledBeanTest {
+
+  @Test
+  public void testCompile() {
+    ValidatorFactory factory = Validation.buildDefaultValidatorFactory();
+    Assert.assertNotNull(compile(factory, User.class));
+    Assert.assertNotNull(compile(factory, Account.class));
+    Assert.assertNull(compile(factory, GetterAccount.class));
+    Assert.assertNotNull(compile(factory, GroupAccount.class));
+    Assert.assertNull(compile(factory, CascadedAccount.class));
+  }
+
+  @Test
+  public void testSameErrors() {
+    Account account = new Account();
+    assertSameErrors(account);
+    account.username = "edgar 615";
+    account.code = "123";
+    account.roles = ImmutableList.of();
+    account.deleted = true;
+    account.nickname = "edgar";
+    assertSameErrors(account);
+    account.username = "edgar615";
+    account.code = "12345";
+    account.roles = ImmutableList.of("admin");
+    account.deleted = null;
+    account.nickname = "edgar zhang";
+    Assert.assertNull(errors(account, true));
+
+    User user = new User();
+    user.setDate("2020-02-30");
+    user.setDate2("2020-01-10");
+    user.setDateTime("2020-01-10 25:00:00");
+    user.setTime("15:48");
+    assertSameErrors(user);
+
+    Wrapped wrapped = new Wrapped();
+    assertSameErrors(wrapped);
+    wrapped.count = OptionalInt.of(1);
+    wrapped.name = Optional.of("edgar");
+    wrapped.id = OptionalLong.of(1L);
+    wrapped.score = OptionalDouble.of(1.0);
+    assertSameErrors(wrapped);
+  }
+
+  private static CompiledBean compile(ValidatorFactory factory, Class<?> beanClass) {
+    return CompiledBean.compile(beanClass, ImmutableList.of(Default.class),
+        factory.getValidator(), factory.getMessageInterpolator());
+  }
+
+  private static void assertSameErrors(Object bean) {
+    Multimap<String, String> compiled = errors(bean, true);
+    Assert.assertNotNull(compiled);
+    Assert.assertEquals(errors(bean, false), compiled);
+  }
+
+  private static Multimap<String, String> errors(Object bean, boolean compileBeans) {
+    Validations.configure(ValidatorOptions.builder().compileBeans(compileBeans).build());
+    try {
+      Validations.validateBean(bean);
+      return null;
+    } catch (ValidationException e) {
+      return HashMultimap.create(e.getErrorDetail());
+    } finally {
+      Validations.configure(ValidatorOptions.defaults());
+    }
+  }
+
+  public static class Account {
+
+    @NotNull
+    @AlphaNumberValidator
+    private String username;
+
+    @FixLengthValidator(length = 5)
+    private String code;
+
+    @Size(min = 1, max = 3)
+    private List<String> roles;
+
+    @ProhibitedValidator
+    private Boolean deleted;
+
+    @AlphaSpaceValidator
+    @Size(min = 8)
+    private String nickname;
+  }
+
+  public static class GetterAccount {
+
+    @NotNull
+    private String username;
+
+    @Size(max = 16)
+    public String getUsername() {
+      return username;
+    }
+  }
+
+  public static class GroupAccount {
+
+    @NotNull(groups = InsertGroup.class)
+    private String username;
+  }
+
+  public static class Wrapped {
+
+    @NotNull
+    private OptionalInt count = OptionalInt.empty();
+
+    @NotNull(payload = Unwrapping.Unwrap.class)
+    private Optional<String> name = Optional.empty();
+
+    @ProhibitedValidator
+    private OptionalLong id = OptionalLong.empty();
+
+    @NotNull
+    private OptionalDouble score = OptionalDouble.empty();
+
+    @Size(max = 3)
+    private String nickname = "edgar";
+  }
+
+  public static class CascadedAccount {
+
+    @Valid
+    @NotNull
+    private Account account;
+  }
+}
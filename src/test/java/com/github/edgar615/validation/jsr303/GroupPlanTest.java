@@ -0,0 +1,74 @@
+package com.github.edgar615.validation.jsr303;
+
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Multimap;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import javax.validation.groups.Default;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GroupPlanTest {
+
+  @Test
+  public void testPlan() {
+    Validations.configure(ValidatorOptions.defaults());
+    GroupPlan plan = GroupPlan.of(Account.class, InsertGroup.class);
+    Assert.assertTrue(plan.isCompiled());
+    Assert.assertSame(plan, GroupPlan.of(Account.class, InsertGroup.class));
+    Assert.assertEquals(1, GroupPlan.stats().missCount());
+    Assert.assertEquals(1, GroupPlan.stats().hitCount());
+
+    Account account = new Account();
+    account.id = 1L;
+    ValidationResult result = plan.validateToResult(account);
+    Assert.assertEquals(ImmutableSet.of("id", "username"), errors(result).keySet());
+
+    result = GroupPlan.of(Account.class, UpdateGroup.class).validateToResult(account);
+    Assert.assertTrue(result.isValid());
+
+    account.username = "edgar615edgar615edgar615";
+    result = GroupPlan.of(Account.class, PatchGroup.class).validateToResult(account);
+    Assert.assertEquals(ImmutableSet.of("username", "nickname"), errors(result).keySet());
+  }
+
+  @Test
+  public void testSameErrors() {
+    Account account = new Account();
+    account.id = 1L;
+    account.username = "edgar615edgar615edgar615";
+    Class<?>[][] groupsList = {{InsertGroup.class}, {UpdateGroup.class}, {PatchGroup.class},
+        {InsertGroup.class, UpdateGroup.class}, {Default.class, InsertGroup.class}};
+    for (Class<?>[] groups : groupsList) {
+      Validations.configure(ValidatorOptions.builder().compileBeans(false).build());
+      Multimap<String, String> expected = errors(Validations.validateBeanToResult(account, groups));
+      Validations.configure(ValidatorOptions.defaults());
+      Assert.assertTrue(GroupPlan.of(Account.class, groups).isCompiled());
+      Assert.assertEquals(expected, errors(Validations.validateBeanToResult(account, groups)));
+    }
+  }
+
+  private static Multimap<String, String> errors(ValidationResult result) {
+    return HashMultimap.create(result.getErrorDetail());
+  }
+
+  public interface PatchGroup extends Default {
+
+  }
+
+  public static class Account {
+
+    @NotNull(groups = UpdateGroup.class)
+    @ProhibitedValidator(groups = InsertGroup.class)
+    private Long id;
+
+    @NotNull(groups = InsertGroup.class)
+    @Size(max = 16)
+    private String username;
+
+    @NotNull(groups = PatchGroup.class)
+    private String nickname;
+  }
+}
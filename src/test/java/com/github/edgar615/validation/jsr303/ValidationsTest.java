@@ -1,5 +1,10 @@
 package com.github.edgar615.validation.jsr303;
 
+import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.collect.HashMultimap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Assert;
 import org.junit.Test;
 
 public class ValidationsTest {
@@ -15,4 +20,80 @@ public class ValidationsTest {
     user.setTime2("15:48");
     Validations.validateBean(user);
   }
+
+  @Test
+  public void testInvalidDate() {
+    User user = new User();
+    user.setDate("2020-13-10");
+    user.setDate2("2020-01-10");
+    user.setDateTime("2020-01-10 15:60:10");
+    user.setDateTime2("2020-01-10 15:48");
+    user.setTime("15:48");
+    user.setTime2("15:48");
+    try {
+      Validations.validateBean(user);
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(4, e.getErrorDetail().size());
+      Assert.assertTrue(e.getErrorDetail().containsKey("date"));
+      Assert.assertTrue(e.getErrorDetail().containsKey("date2"));
+      Assert.assertTrue(e.getErrorDetail().containsKey("dateTime"));
+      Assert.assertTrue(e.getErrorDetail().containsKey("time"));
+    }
+  }
+
+  @Test
+  public void testConfigure() {
+    User user = new User();
+    user.setDate("2020-13-10");
+    user.setTime("15:48");
+    Validations.configure(ValidatorOptions.builder().failFast(true).build());
+    try {
+      Validations.warmUp(User.class);
+      Validations.validateBean(user);
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(1, e.getErrorDetail().size());
+    } finally {
+      Validations.configure(ValidatorOptions.defaults());
+    }
+  }
+
+  @Test
+  public void testWarmUpPackage() {
+    Assert.assertTrue(Validations.warmUp("com.github.edgar615.validation.jsr303") > 0);
+    Validations.validateProperty(new User(), "date");
+  }
+
+  @Test
+  public void testToResult() {
+    User user = new User();
+    user.setDate("2020-13-10");
+    user.setDateTime("2020-01-10 15:60:10");
+    user.setTime("15:48");
+    for (boolean compileBeans : new boolean[]{true, false}) {
+      Validations.configure(ValidatorOptions.builder().compileBeans(compileBeans).build());
+      try {
+        ValidationResult result = Validations.validateBeanToResult(user);
+        Assert.assertEquals(3, result.errorCount());
+        Assert.assertEquals(ImmutableSet.of("date", "dateTime", "time"),
+            HashMultimap.create(result.getErrorDetail()).keySet());
+
+        result = Validations.validatePropertiesToResult(user, "date", "date2", "time");
+        Assert.assertEquals(2, result.errorCount());
+        Assert.assertTrue(result.getErrorDetail().containsKey("date"));
+        Assert.assertTrue(result.getErrorDetail().containsKey("time"));
+
+        Assert.assertTrue(Validations.validatePropertyToResult(user, "date2").isValid());
+        try {
+          Validations.validateProperties(user, "date2", "dateTime");
+          Assert.fail();
+        } catch (ValidationException e) {
+          Assert.assertEquals(1, e.getErrorDetail().size());
+        }
+      } finally {
+        Validations.configure(ValidatorOptions.defaults());
+      }
+    }
+  }
 }
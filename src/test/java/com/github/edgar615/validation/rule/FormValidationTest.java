@@ -0,0 +1,96 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.ValidationResult;
+import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.Multimap;
+import java.io.UnsupportedEncodingException;
+import java.net.URLDecoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 校验查询字符串和表单的测试.
+ *
+ * @author Edgar
+ */
+public class FormValidationTest {
+
+  private final RuleSet ruleSet = RuleSet.builder()
+      .add("username", "required|maxLength:8")
+      .add("age", "int|max:100")
+      .add("tag[0]", "alpha")
+      .add("nickname", "required")
+      .build();
+
+  @Test
+  public void testValid() {
+    Validations.validateForm("username=edgar&age=30&ignore=%zz&tag%5B0%5D=abc&nickname=%E5%BC%A0+",
+        ruleSet);
+    Validations.validateForm("utm%zz=1&%E5%B=2&username=edgar&nickname=a", ruleSet);
+    Validations.validateForm((String) null, ruleSet);
+  }
+
+  @Test
+  public void testSameAsMultimap() {
+    String[] forms = {"", "username=&age=abc&&age=200", "username", "age=1&nickname=a&tag[0]=1",
+        "username=edgar+615&username=e&tag%5B0%5D=a%31"};
+    for (String form : forms) {
+      ValidationResult result = Validations.validateFormToResult(form, ruleSet);
+      Multimap<String, String> multimap = ArrayListMultimap.create();
+      for (String pair : form.split("&")) {
+        if (!pair.isEmpty()) {
+          String[] kv = pair.split("=", 2);
+          multimap.put(decode(kv[0]), kv.length == 1 ? "" : decode(kv[1]));
+        }
+      }
+      ValidationResult expected = Validations.validateToResult(multimap, ruleSet);
+      Assert.assertEquals(form, expected.getErrorDetail(), result.getErrorDetail());
+    }
+  }
+
+  @Test
+  public void testFailureMode() {
+    String form = "age=abc&age=def&username=edgar6150&username=edgar6160";
+    ValidationResult result = Validations.validateFormToResult(form,
+        ruleSet.withFailureMode(FailureMode.FIRST_ERROR_PER_FIELD));
+    Assert.assertEquals(3, result.errorCount());
+    Assert.assertEquals("age", result.field(0));
+    Assert.assertEquals("username", result.field(1));
+    Assert.assertEquals("nickname", result.field(2));
+
+    try {
+      Validations.validateForm(form, ruleSet.withMaxErrors(1));
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(1, e.getErrorDetail().size());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testMalformed() {
+    Validations.validateForm("username=%E5%B", ruleSet);
+  }
+
+  private static String decode(String s) {
+    try {
+      return URLDecoder.decode(s, "UTF-8");
+    } catch (UnsupportedEncodingException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
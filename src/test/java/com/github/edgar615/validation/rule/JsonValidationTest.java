@@ -0,0 +1,123 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.github.edgar615.validation.rule;
+
+import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.ValidationResult;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * 流式校验JSON的测试.
+ *
+ * @author Edgar
+ */
+public class JsonValidationTest {
+
+  private final RuleSet ruleSet = RuleSet.builder()
+      .add("username", "required|maxLength:8")
+      .add("age", "int|max:100")
+      .add("interest", "list")
+      .add("address", "map")
+      .add("nickname", "required")
+      .build();
+
+  @Test
+  public void testValid() {
+    Validations.validateJson(bytes("{\"username\":\"edgar\",\"age\":30,"
+        + "\"ignore\":{\"a\":[1,2.5e3,true,false,null,\"\\\"x\\\"\"]},"
+        + "\"interest\":[\"a\"],\"address\":{\"city\":\"wuhan\"},\"nickname\":\"\u5f20\u4e09\"}"),
+        ruleSet);
+    Validations.validateJson(null, ruleSet);
+  }
+
+  @Test
+  public void testInvalid() {
+    ValidationResult result = Validations.validateJsonToResult(
+        bytes(" {\"age\" : 1.5, \"user\\u006eame\": \"edgar615\\n\", \"interest\": {}} "), ruleSet);
+    Assert.assertEquals(4, result.errorCount());
+    Assert.assertEquals("age", result.field(0));
+    Assert.assertEquals("username", result.field(1));
+    Assert.assertEquals("interest", result.field(2));
+    Assert.assertEquals("nickname", result.field(3));
+    Assert.assertEquals("Required", result.message(3));
+
+    result = Validations.validateJsonToResult(bytes("{\"age\":12345678901}"), ruleSet);
+    Assert.assertEquals(4, result.errorCount());
+    Assert.assertEquals("age", result.field(0));
+    Assert.assertEquals("age", result.field(1));
+
+    try {
+      Validations.validateJson(bytes("{\"age\":\"abc\"}"),
+          ruleSet.withFailureMode(FailureMode.FIRST_ERROR));
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(1, e.getErrorDetail().size());
+      Assert.assertTrue(e.getErrorDetail().containsKey("age"));
+    }
+  }
+
+  @Test
+  public void testSameAsMap() {
+    String json = "{\"username\":\"\",\"age\":-2147483649,\"interest\":null,\"address\":[]}";
+    ValidationResult result = Validations.validateJsonToResult(bytes(json), ruleSet);
+    Assert.assertEquals(4, result.errorCount());
+    Assert.assertEquals("address", result.field(2));
+    Assert.assertEquals("nickname", result.field(3));
+    Assert.assertEquals("[Required]", result.getErrorDetail().get("username").toString());
+    Assert.assertEquals("[int Required]", result.getErrorDetail().get("age").toString());
+  }
+
+  @Test
+  public void testLiteralDottedKey() {
+    RuleSet dotted = RuleSet.builder()
+        .add("a.b", "required|maxLength:2")
+        .add("c.d", "required")
+        .build();
+    Map<String, Object> map = new HashMap<>();
+    map.put("a.b", "xyz");
+    map.put("c.d", 1);
+    ValidationResult expected = Validations.validateToResult(map, dotted);
+    Assert.assertEquals("{a.b=[MaxLength:2]}", expected.getErrorDetail().toString());
+    Assert.assertEquals(expected.getErrorDetail(), Validations
+        .validateJsonToResult(bytes("{\"a.b\":\"xyz\",\"c\\u002ed\":1}"), dotted)
+        .getErrorDetail());
+    Assert.assertEquals(expected.getErrorDetail(), Validations
+        .validateJsonToResult(bytes("{\"a.b\":\"xyz\",\"c.d\":1,\"a\":{\"b\":\"x\"}}"), dotted)
+        .getErrorDetail());
+  }
+
+  @Test
+  public void testMalformed() {
+    String[] malformed = {"", "[]", "{", "{\"a\":}", "{\"a\":1,}", "{\"a\" 1}", "{\"a\":01}",
+        "{\"a\":1.}", "{\"a\":tru}", "{\"a\":\"b}", "{\"a\":\"\\x\"}", "{\"a\":[1 2]}",
+        "{\"age\":-}", "{} {}", "{a:1}"};
+    for (String json : malformed) {
+      try {
+        Validations.validateJson(bytes(json), ruleSet);
+        Assert.fail(json);
+      } catch (IllegalArgumentException e) {
+        Assert.assertTrue(e.getMessage(), e.getMessage().startsWith("Malformed JSON"));
+      }
+    }
+  }
+
+  private static byte[] bytes(String json) {
+    return json.getBytes(StandardCharsets.UTF_8);
+  }
+}
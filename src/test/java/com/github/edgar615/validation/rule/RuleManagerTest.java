@@ -15,6 +15,7 @@
 package com.github.edgar615.validation.rule;
 
 import com.google.common.collect.Lists;
+import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.Assert;
@@ -108,12 +109,12 @@ public class RuleManagerTest {
     Assert.assertEquals(((MaxLengthRule) rules.get(20)).value(),
         5);
     Assert.assertTrue(rules.get(21) instanceof MaxRule);
-    Assert.assertEquals(((MaxRule) rules.get(21)).value(), 100);
+    Assert.assertEquals(((MaxRule) rules.get(21)).value(), new BigDecimal(100));
     Assert.assertTrue(rules.get(22) instanceof MinLengthRule);
     Assert.assertEquals(((MinLengthRule) rules.get(22)).value(),
         12);
     Assert.assertTrue(rules.get(23) instanceof MinRule);
-    Assert.assertEquals(((MinRule) rules.get(23)).value(), 66);
+    Assert.assertEquals(((MinRule) rules.get(23)).value(), new BigDecimal(66));
     Assert.assertTrue(rules.get(24) instanceof OptionalRule);
     Assert.assertEquals(
         ((OptionalRule) rules.get(24)).value().size(), 3);
@@ -125,4 +126,47 @@ public class RuleManagerTest {
     Assert.assertTrue(rules.get(28) instanceof ShortRule);
     Assert.assertTrue(rules.get(29) instanceof DateTimeRule);
   }
+
+  @Test
+  public void testCompileCache() {
+    RuleManager ruleManager = RuleManager.instance();
+    // 其他测试不使用这个规则，第一次编译之后再统计命中次数
+    String spec = "required|maxLength:17|minLength:2";
+    RulePlan plan = ruleManager.compile(spec);
+    long hit = ruleManager.cacheStats().hitCount();
+    Assert.assertEquals(3, plan.size());
+    Assert.assertTrue(plan.rules().get(0) instanceof RequiredRule);
+    Assert.assertSame(plan, ruleManager.compile(spec));
+    Assert.assertSame(plan.rules(), ruleManager.parse(spec));
+    Assert.assertEquals(hit + 2, ruleManager.cacheStats().hitCount());
+  }
+
+  @Test
+  public void testEmailCached() {
+    RuleManager ruleManager = RuleManager.instance();
+    List<Rule> rules = ruleManager.parse("email:cached|email");
+    Assert.assertEquals("email:cached|email", ruleManager.toParsableString(rules));
+    Assert.assertEquals("email:cached",
+        ruleManager.toParsableString(Lists.newArrayList(Rule.email(true))));
+    Assert.assertEquals(rules.get(0).toString(), Rule.email(true).toString());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void testCompileIllegal() {
+    RuleManager.instance().compile("regex:a:b");
+  }
+
+  @Test
+  public void testEscape() {
+    List<Rule> rules = RuleManager.instance().parse(" required | regex:a\\|b\\:c\\d | unknown ");
+    Assert.assertEquals(2, rules.size());
+    Assert.assertTrue(rules.get(0) instanceof RequiredRule);
+    Assert.assertEquals("a|b:c\\d", ((RegexRule) rules.get(1)).value());
+    Assert.assertTrue(rules.get(1).isValid("a"));
+    Assert.assertTrue(rules.get(1).isValid("b:c5"));
+
+    String str = RuleManager.instance().toParsableString(rules);
+    Assert.assertEquals("required|regex:a\\|b\\:c\\d", str);
+    Assert.assertEquals(rules.toString(), RuleManager.instance().parse(str).toString());
+  }
 }
@@ -14,14 +14,22 @@
 
 package com.github.edgar615.validation.rule;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
+import java.util.regex.Pattern;
 import org.junit.Test;
 
 /**
@@ -99,6 +107,25 @@ public class RuleTest {
     assertTrue(rule.isValid("1.0"));
     assertTrue(rule.isValid("5.0"));
     assertFalse(rule.message(), rule.isValid("15.0"));
+
+    rule = Rule.max(Long.MAX_VALUE);
+    assertTrue(rule.isValid(Long.MAX_VALUE));
+    assertTrue(rule.isValid("9223372036854775807"));
+    assertFalse(rule.message(), rule.isValid("9223372036854775808"));
+
+    rule = Rule.max(new BigDecimal("99.99"));
+    assertTrue(rule.isValid(99));
+    assertTrue(rule.isValid((byte) 99));
+    assertFalse(rule.message(), rule.isValid(100));
+    assertTrue(rule.isValid(99.99));
+    assertFalse(rule.message(), rule.isValid(99.991));
+    assertTrue(rule.isValid("99.9900"));
+    assertTrue(rule.isValid("9.999e1"));
+    assertFalse(rule.message(), rule.isValid("99.991"));
+    assertFalse(rule.message(), rule.isValid(Double.NaN));
+    assertFalse(rule.message(), rule.isValid("abc"));
+    assertFalse(rule.message(), rule.isValid(""));
+    assertEquals("Max value:99.99", rule.message());
   }
 
   @Test
@@ -131,6 +158,16 @@ public class RuleTest {
     assertTrue(rule.isValid("10.0"));
     assertTrue(rule.isValid("5.0"));
     assertFalse(rule.message(), rule.isValid("1.0"));
+
+    rule = Rule.min(new BigDecimal("-0.5"));
+    assertTrue(rule.isValid(0));
+    assertFalse(rule.message(), rule.isValid(-1));
+    assertTrue(rule.isValid(-0.5f));
+    assertTrue(rule.isValid("-.5"));
+    assertTrue(rule.isValid("-0"));
+    assertFalse(rule.message(), rule.isValid("-0.50001"));
+    assertFalse(rule.message(), rule.isValid("-"));
+    assertEquals("Min value:-0.5", rule.message());
   }
 
   @Test
@@ -163,6 +200,19 @@ public class RuleTest {
     assertFalse(rule.message(), rule.isValid("0123456789aBCDEF"));
   }
 
+  @Test
+  public void testPatternCache() {
+    long hit = PatternCache.stats().hitCount();
+    Rule rule = Rule.regex("[a-z]{3}[0-9]+");
+    Rule rule2 = Rule.regex("[a-z]{3}[0-9]+");
+    assertTrue(rule.isValid("abc1"));
+    assertFalse(rule2.isValid("ab1"));
+    assertTrue(PatternCache.stats().hitCount() > hit);
+    assertTrue(PatternCache.intern("[a-z]{3}[0-9]+") == PatternCache.intern("[a-z]{3}[0-9]+"));
+    assertFalse(PatternCache.intern("[a-z]{3}[0-9]+") == PatternCache
+        .intern("[a-z]{3}[0-9]+", Pattern.CASE_INSENSITIVE));
+  }
+
   @Test
   public void testProhibited() {
     Rule rule = Rule.prohibited();
@@ -178,6 +228,19 @@ public class RuleTest {
     assertTrue(rule.message(), rule.isValid(null));
 
     assertFalse(rule.message(), rule.isValid("4"));
+
+    List<Object> currencies = new ArrayList<>();
+    for (int i = 0; i < 5000; i++) {
+      currencies.add("C" + i);
+    }
+    currencies.add("-42");
+    rule = Rule.optional(currencies);
+    assertTrue(rule.message(), rule.isValid("c4999"));
+    assertTrue(rule.message(), rule.isValid("C0"));
+    assertTrue(rule.message(), rule.isValid(-42L));
+    assertTrue(rule.message(), rule.isValid((short) -42));
+    assertFalse(rule.message(), rule.isValid("C5000"));
+    assertFalse(rule.message(), rule.isValid(42));
   }
 
   @Test
@@ -189,6 +252,18 @@ public class RuleTest {
     assertTrue(rule.message(), rule.isValid("zyz@126.COM"));
     assertTrue(rule.message(), rule.isValid("zyz@qq"));
     assertFalse(rule.message(), rule.isValid("4"));
+    assertTrue(rule.message(), rule.isValid("zyz@[192.168.1.1]"));
+    assertFalse(rule.message(), rule.isValid("zyz@[192.168.1]"));
+    assertFalse(rule.message(), rule.isValid("zyz.@qq.com"));
+    assertFalse(rule.message(), rule.isValid("zyz@qq..com"));
+    assertFalse(rule.message(), rule.isValid("zyz@" + Strings.repeat("a", 64) + ".com"));
+    assertTrue(rule.message(), rule.isValid("zyz@" + Strings.repeat("a", 63) + ".com"));
+    for (Rule idn : new Rule[] {rule, Rule.email(true)}) {
+      for (int i = 0; i < 2; i++) {
+        assertTrue(idn.message(), idn.isValid("\u5f20\u4e09@\u4f8b\u5b50.\u5e7f\u544a"));
+        assertFalse(idn.message(), idn.isValid("zyz@\u4f8b\u5b50..\u5e7f\u544a"));
+      }
+    }
   }
 
   @Test
@@ -256,6 +331,11 @@ public class RuleTest {
     assertTrue(rule.message(), rule.isValid("1111111111111111111"));
     assertFalse(rule.message(), rule.isValid("11111111111111111111111"));
     assertFalse(rule.message(), rule.isValid(0.00));
+    assertTrue(rule.message(), rule.isValid("-9223372036854775808"));
+    assertTrue(rule.message(), rule.isValid("+\u0663"));
+    assertFalse(rule.message(), rule.isValid("9223372036854775808"));
+    assertFalse(rule.message(), rule.isValid("-"));
+    assertFalse(rule.message(), rule.isValid(" 1"));
 
   }
 
@@ -287,6 +367,14 @@ public class RuleTest {
     assertTrue(rule.message(), rule.isValid("-" + Float.MAX_VALUE));
     assertTrue(rule.message(), rule.isValid(0.00));
     assertTrue(rule.message(), rule.isValid(Double.MAX_VALUE + ""));
+    for (String valid : new String[] {"1.", ".5", " -1e5d ", "+NaN", "-Infinity", "0x1p1",
+        "0x.8P-2f", "1.e-3F"}) {
+      assertTrue(valid, rule.isValid(valid));
+    }
+    for (String invalid : new String[] {"", ".", "1e", "1e+", "NaNd", "0x1", "0x.p1", "1..2",
+        "1ff", "--1"}) {
+      assertFalse(invalid, rule.isValid(invalid));
+    }
   }
 
   @Test
@@ -350,7 +438,14 @@ public class RuleTest {
     assertFalse(rule.message(), rule.isValid("123"));
     assertFalse(rule.message(), rule.isValid("20180313"));
     assertTrue(rule.message(), rule.isValid("2018-03-13"));
-
+    assertTrue(rule.message(), rule.isValid("2018-3-1"));
+    assertTrue(rule.message(), rule.isValid("2020-02-29"));
+    assertFalse(rule.message(), rule.isValid("2019-02-29"));
+    assertFalse(rule.message(), rule.isValid("2019-02-31"));
+    assertFalse(rule.message(), rule.isValid("2019-13-01"));
+    assertFalse(rule.message(), rule.isValid("2019-00-01"));
+    assertEquals(LocalDate.of(2020, 2, 29).toEpochDay(), DateTimeScanner.parseDate("2020-02-29"));
+    assertEquals(DateTimeScanner.INVALID, DateTimeScanner.parseDate("2019-02-29"));
   }
 
   @Test
@@ -361,6 +456,9 @@ public class RuleTest {
     assertFalse(rule.message(), rule.isValid("141500"));
     assertTrue(rule.message(), rule.isValid("14:15:00"));
     assertTrue(rule.message(), rule.isValid("00:00:00"));
+    assertFalse(rule.message(), rule.isValid("24:00:00"));
+    assertFalse(rule.message(), rule.isValid("12:60:00"));
+    assertEquals(51300, DateTimeScanner.parseTime("14:15:00"));
   }
 
   @Test
@@ -372,6 +470,18 @@ public class RuleTest {
     assertFalse(rule.message(), rule.isValid("2018-03-1314:15:00"));
     assertFalse(rule.message(), rule.isValid("2018-03-13 00:00:00"));
     assertTrue(rule.message(), rule.isValid("2018-03-13T14:15:00"));
+    assertFalse(rule.message(), rule.isValid("2018-02-30T14:15:00"));
+    assertEquals(LocalDateTime.of(2018, 3, 13, 14, 15).toEpochSecond(ZoneOffset.UTC),
+        DateTimeScanner.parseDateTime("2018-03-13T14:15:00", 'T'));
+  }
+
+  @Test
+  public void testDateTime() {
+    Rule rule = Rule.datetime();
+    assertTrue(rule.message(), rule.isValid("2018-03-13 14:15:00"));
+    assertTrue(rule.message(), rule.isValid("2018-03-13 04:15:00"));
+    assertFalse(rule.message(), rule.isValid("2018-03-13T04:15:00"));
+    assertFalse(rule.message(), rule.isValid("2018-04-31 14:15:00"));
   }
 
   @Test
@@ -444,6 +554,9 @@ public class RuleTest {
     assertFalse(rule.message(), rule.isValid("1234"));
     assertTrue(rule.message(), rule.isValid("132"));
     assertFalse(rule.message(), rule.isValid("012"));
+    assertTrue(rule.message(), rule.isValid(132L));
+    assertFalse(rule.message(), rule.isValid(1322));
+    assertFalse(rule.message(), rule.isValid(-13));
   }
 
   @Test
@@ -462,6 +575,9 @@ public class RuleTest {
     assertTrue(rule.message(), rule.isValid(3.00));
     assertTrue(rule.message(), rule.isValid(3.10));
     assertTrue(rule.message(), rule.isValid(3.11));
+    assertFalse(rule.message(), rule.isValid(3.111));
+    assertFalse(rule.message(), rule.isValid(3));
+    assertFalse(rule.message(), rule.isValid("3."));
 
   }
 }
@@ -15,12 +15,20 @@
 package com.github.edgar615.validation.rule;
 
 import com.github.edgar615.validation.ValidationException;
+import com.github.edgar615.validation.ValidationResult;
 import com.google.common.collect.ArrayListMultimap;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Multimap;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Test;
 
 /**
@@ -38,6 +46,22 @@ public class ValidationTest {
     validationException.printStackTrace();
   }
 
+  @Test
+  public void testSuppressed() {
+    ValidationResult result = new ValidationResult().addError("username", "required");
+    ValidationException e = result.toException();
+    e.addSuppressed(new IllegalStateException("close"));
+    Assert.assertEquals(1, e.getSuppressed().length);
+    try {
+      result.throwIfInvalid();
+      Assert.fail();
+    } catch (ValidationException stackless) {
+      stackless.addSuppressed(new IllegalStateException("close"));
+      Assert.assertEquals(1, stackless.getSuppressed().length);
+      Assert.assertEquals(0, stackless.getStackTrace().length);
+    }
+  }
+
   @Test(expected = ValidationException.class)
   public void testValidator() {
     Multimap<String, Rule> rules = ArrayListMultimap.create();
@@ -138,4 +162,310 @@ public class ValidationTest {
       throw e;
     }
   }
+
+  @Test
+  public void testRuleSet() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:16")
+        .add("password", Rule.required())
+        .add("age", Rule.intRule(), Rule.min(1))
+        .build();
+    Assert.assertEquals(3, ruleSet.size());
+    Assert.assertEquals(2, ruleSet.rules("username").size());
+
+    Map<String, Object> params = new HashMap<>();
+    params.put("username", "edgar");
+    params.put("password", "edgar");
+    params.put("age", 30);
+    Validations.validate(params, ruleSet);
+
+    params.remove("password");
+    params.put("age", "abc");
+    try {
+      Validations.validate(params, ruleSet);
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(1, e.getErrorDetail().get("password").size());
+      Assert.assertEquals(2, e.getErrorDetail().get("age").size());
+    }
+  }
+
+  @Test
+  public void testValidateToResult() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:16")
+        .add("password", Rule.required())
+        .build();
+    Map<String, Object> params = new HashMap<>();
+    params.put("username", "edgar615edgar615edgar615");
+    ValidationResult result = Validations.validateToResult(params, ruleSet);
+    Assert.assertFalse(result.isValid());
+    Assert.assertEquals(2, result.errorCount());
+    Assert.assertEquals("username", result.field(0));
+    Assert.assertEquals("MaxLength:16", result.message(0));
+    Assert.assertEquals("password", result.field(1));
+
+    try {
+      result.throwIfInvalid();
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertEquals(0, e.getStackTrace().length);
+      Assert.assertEquals(2, e.getErrorDetail().size());
+    }
+
+    params.put("username", "edgar");
+    params.put("password", "edgar");
+    Assert.assertSame(result, Validations.validateToResult(params, ruleSet, result));
+    Assert.assertTrue(result.isValid());
+    result.throwIfInvalid();
+  }
+
+  @Test
+  public void testFailureMode() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:3|alpha")
+        .add("password", Rule.required())
+        .add("age", Rule.intRule())
+        .build();
+    Map<String, Object> params = new HashMap<>();
+    params.put("username", "edgar615");
+    params.put("age", "abc");
+    Assert.assertEquals(4, Validations.validateToResult(params, ruleSet).errorCount());
+
+    ValidationResult result = Validations
+        .validateToResult(params, ruleSet.withFailureMode(FailureMode.FIRST_ERROR));
+    Assert.assertEquals(1, result.errorCount());
+    Assert.assertEquals("MaxLength:3", result.message(0));
+
+    result = Validations
+        .validateToResult(params, ruleSet.withFailureMode(FailureMode.FIRST_ERROR_PER_FIELD));
+    Assert.assertEquals(3, result.errorCount());
+    Assert.assertEquals("username", result.field(0));
+    Assert.assertEquals("password", result.field(1));
+    Assert.assertEquals("age", result.field(2));
+
+    result = Validations.validateToResult(params, ruleSet.withMaxErrors(2));
+    Assert.assertEquals(2, result.errorCount());
+
+    Multimap<String, String> multimap = ArrayListMultimap.create();
+    multimap.put("username", "edgar615");
+    multimap.put("username", "edgar616");
+    result = Validations.validateToResult(multimap,
+        ruleSet.withFailureMode(FailureMode.FIRST_ERROR_PER_FIELD));
+    Assert.assertEquals(2, result.errorCount());
+    Assert.assertEquals("username", result.field(0));
+    Assert.assertEquals("password", result.field(1));
+  }
+
+  @Test
+  public void testBean() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:5")
+        .add("age", "int|max:100")
+        .add("nickname", "required")
+        .build();
+    Account account = new Account();
+    account.setUsername("edgar615");
+    account.setAge(120);
+    ValidationResult result = Validations.validateToResult(account, ruleSet);
+    Assert.assertEquals(3, result.errorCount());
+    Assert.assertEquals("username", result.field(0));
+    Assert.assertEquals("age", result.field(1));
+    Assert.assertEquals("nickname", result.field(2));
+
+    account.setUsername("edgar");
+    account.setAge(30);
+    Validations.validate(account, RuleSet.builder().add("age", "int|max:100").build());
+    Multimap<String, Rule> rules = ArrayListMultimap.create();
+    rules.put("username", Rule.maxLength(4));
+    try {
+      Validations.validate(account, rules);
+      Assert.fail();
+    } catch (ValidationException e) {
+      Assert.assertTrue(e.getMessage(), e.getMessage().contains("username"));
+    }
+
+    HiddenAccount hidden = new HiddenAccount();
+    hidden.setUsername("edgar615");
+    result = Validations.validateToResult(hidden, ruleSet);
+    Assert.assertEquals(2, result.errorCount());
+    Assert.assertEquals("username", result.field(0));
+    Assert.assertEquals("nickname", result.field(1));
+  }
+
+  @Test
+  public void testValidateAll() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", "required|maxLength:5")
+        .add("age", "int|max:100")
+        .build();
+    List<Map<String, Object>> rows = new ArrayList<>();
+    List<Account> accounts = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      Map<String, Object> row = new HashMap<>();
+      row.put("username", "edgar");
+      row.put("age", i % 3 == 0 ? 120 : 30);
+      rows.add(row);
+      Account account = new Account();
+      account.setUsername(i % 7 == 0 ? "edgar615" : "edgar");
+      accounts.add(account);
+    }
+
+    ForkJoinPool pool = new ForkJoinPool(4);
+    try {
+      List<ValidationResult> results = Validations.validateAll(rows, ruleSet, pool, 10);
+      Assert.assertEquals(1000, results.size());
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertEquals(i % 3 != 0, results.get(i).isValid());
+      }
+      Assert.assertEquals("age", results.get(999).field(0));
+
+      results = Validations.validateAllBeans(accounts, ruleSet, pool, 10);
+      for (int i = 0; i < results.size(); i++) {
+        Assert.assertEquals(i % 7 != 0, results.get(i).isValid());
+      }
+    } finally {
+      pool.shutdown();
+    }
+    Assert.assertEquals(334, Validations.validateAll(rows, ruleSet).stream()
+        .filter(result -> !result.isValid()).count());
+  }
+
+  @Test
+  public void testPath() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("profile.age", "required|int|max:100")
+        .add("items[*].sku", "required|maxLength:4")
+        .add("items[*].tags[*]", "alpha")
+        .add("items[0]", "required")
+        .add("matrix[*][*]", "int")
+        .build();
+    Map<String, Object> params = new HashMap<>();
+    params.put("profile", ImmutableMap.of("age", 120));
+    params.put("items", ImmutableList.of(
+        ImmutableMap.of("sku", "a001", "tags", ImmutableList.of("a", "b1")),
+        ImmutableMap.of("tags", ImmutableList.of()),
+        ImmutableMap.of("sku", "a00001")));
+    params.put("matrix", ImmutableList.of(ImmutableList.of(1, 2), ImmutableList.of(3, "x")));
+    ValidationResult result = Validations.validateToResult(params, ruleSet);
+    Assert.assertEquals(5, result.errorCount());
+    Assert.assertEquals("profile.age", result.field(0));
+    Assert.assertEquals("items[1].sku", result.field(1));
+    Assert.assertEquals("items[2].sku", result.field(2));
+    Assert.assertEquals("items[0].tags[1]", result.field(3));
+    Assert.assertEquals("matrix[1][1]", result.field(4));
+
+    result = Validations.validateToResult(new HashMap<>(), ruleSet);
+    Assert.assertEquals(2, result.errorCount());
+    Assert.assertEquals("profile.age", result.field(0));
+    Assert.assertEquals("items[0]", result.field(1));
+
+    result = Validations.validateJsonToResult(("{\"matrix\":[[1],[\"y\"]],"
+        + "\"items\":[{\"sku\":\"b001\"}],\"profile\":{\"age\":\"abc\"}}")
+        .getBytes(StandardCharsets.UTF_8), ruleSet);
+    Assert.assertEquals(3, result.errorCount());
+    Assert.assertEquals("matrix[1][0]", result.field(0));
+    Assert.assertEquals("profile.age", result.field(1));
+
+    Account account = new Account();
+    account.setUsername("edgar615");
+    Map<String, Object> owner = new HashMap<>();
+    owner.put("account", account);
+    result = Validations.validateToResult(owner, RuleSet.builder()
+        .add("account.username", "maxLength:5")
+        .add("account.username.length", "required")
+        .build());
+    Assert.assertEquals(2, result.errorCount());
+    Assert.assertEquals("account.username", result.field(0));
+    Assert.assertEquals("account.username.length", result.field(1));
+  }
+
+  @Test
+  public void testLiteralDottedKey() {
+    RuleSet ruleSet = RuleSet.builder()
+        .add("user.name", "required|maxLength:4")
+        .add("profile.age", "required")
+        .build();
+    Map<String, Object> params = new HashMap<>();
+    params.put("user.name", "edgar");
+    params.put("profile.age", 30);
+    ValidationResult result = Validations.validateToResult(params, ruleSet);
+    Assert.assertEquals(1, result.errorCount());
+    Assert.assertEquals("user.name", result.field(0));
+
+    Multimap<String, String> multiMap = ArrayListMultimap.create();
+    multiMap.put("user.name", "edgar");
+    multiMap.put("profile.age", "30");
+    Assert.assertEquals(1, Validations.validateToResult(multiMap, ruleSet).errorCount());
+  }
+
+  @Test
+  public void testValidNoAllocation() {
+    Assume.assumeTrue(
+        ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+    com.sun.management.ThreadMXBean threadMXBean =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    Assume.assumeTrue(threadMXBean.isThreadAllocatedMemorySupported()
+        && threadMXBean.isThreadAllocatedMemoryEnabled());
+
+    RuleSet ruleSet = RuleSet.builder()
+        .add("username", Rule.required(), Rule.maxLength(16))
+        .add("age", Rule.intRule(), Rule.min(1), Rule.max(100))
+        .add("enabled", Rule.bool())
+        .add("code", Rule.digits(6))
+        .add("interest", Rule.list())
+        .add("nickname", Rule.maxLength(16))
+        .build();
+    Map<String, Object> params = new HashMap<>();
+    params.put("username", "edgar");
+    params.put("age", 30);
+    params.put("enabled", "true");
+    params.put("code", "123456");
+    params.put("interest", new ArrayList<>());
+
+    for (int i = 0; i < 20000; i++) {
+      Validations.validate(params, ruleSet);
+    }
+    long threadId = Thread.currentThread().getId();
+    long start = threadMXBean.getThreadAllocatedBytes(threadId);
+    for (int i = 0; i < 20000; i++) {
+      Validations.validate(params, ruleSet);
+    }
+    long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - start;
+    Assert.assertTrue("allocated " + allocated + " bytes", allocated < 20000);
+  }
+
+  public static class Account {
+
+    private String username;
+
+    private int age;
+
+    public String getUsername() {
+      return username;
+    }
+
+    public void setUsername(String username) {
+      this.username = username;
+    }
+
+    public int getAge() {
+      return age;
+    }
+
+    public void setAge(int age) {
+      this.age = age;
+    }
+
+    public String getPassword() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  static class HiddenAccount extends Account {
+
+    public String getNickname() {
+      return null;
+    }
+  }
 }